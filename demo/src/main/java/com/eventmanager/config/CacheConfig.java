@@ -0,0 +1,40 @@
+package com.eventmanager.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Cache des résultats de requêtes agrégées (Caffeine). Ses valeurs sont partagées
+ * entre threads et sessions : uniquement des valeurs non modifiables, jamais d'entité.
+ * Caffeine évince par taille (W-TinyLFU) et par durée ; les statistiques sont
+ * enregistrées pour CacheStatistics.
+ * Les entités Event et User et les listes d'événements n'ont qu'un cache : le second
+ * niveau d'Hibernate et son cache de requêtes (application.conf), à jour après chaque
+ * écriture, y compris les UPDATE natifs de SeatInventory. RequestMemo ne garde ses
+ * valeurs que le temps d'une requête et PrincipalCache l'utilisateur connecté de la
+ * session, relu à chaque modification.
+ */
+@Configuration
+// Avant les transactions : un succès de cache n'ouvre pas de transaction
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    // Nombre d'utilisateurs par rôle
+    public static final String USER_COUNTS = "userCounts";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${cache.queries.spec:maximumSize=100,expireAfterWrite=1m}") String queriesSpec) {
+        CaffeineCacheManager manager = new CaffeineCacheManager();
+        manager.setAllowNullValues(false);
+        manager.registerCustomCache(USER_COUNTS, Caffeine.from(queriesSpec).recordStats().build());
+        // Mises en cache et invalidations faites dans une transaction : appliquées après le commit
+        return new TransactionAwareCacheManagerProxy(manager);
+    }
+}
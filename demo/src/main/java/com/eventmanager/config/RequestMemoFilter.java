@@ -0,0 +1,32 @@
+package com.eventmanager.config;
+
+import com.eventmanager.service.RequestMemo;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Ouvre la portée de RequestMemo pour chaque requête HTTP (pages, appels de l'UI Vaadin, API).
+ */
+@Component
+public class RequestMemoFilter extends OncePerRequestFilter {
+
+    private final RequestMemo requestMemo;
+
+    public RequestMemoFilter(RequestMemo requestMemo) {
+        this.requestMemo = requestMemo;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        try (RequestMemo.Scope scope = requestMemo.open()) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
@@ -1,4 +1,9 @@
 package com.eventmanager.config;
 
-public class VaadinConfig {
+import com.vaadin.flow.component.page.AppShellConfigurator;
+import com.vaadin.flow.component.page.Push;
+
+// Push serveur : mise à jour en direct des positions dans la file d'attente
+@Push
+public class VaadinConfig implements AppShellConfigurator {
 }
@@ -0,0 +1,44 @@
+package com.eventmanager.dto;
+
+import java.time.LocalDateTime;
+
+public class CancellationProgressDTO {
+
+    private final Long evenementId;
+    private final long total;
+    private final long traitees;
+    private final boolean termine;
+    private final String erreur;
+    private final LocalDateTime demarreLe;
+    private final LocalDateTime termineLe;
+
+    public CancellationProgressDTO(Long evenementId, long total, long traitees, boolean termine,
+                                   String erreur, LocalDateTime demarreLe, LocalDateTime termineLe) {
+        this.evenementId = evenementId;
+        this.total = total;
+        this.traitees = traitees;
+        this.termine = termine;
+        this.erreur = erreur;
+        this.demarreLe = demarreLe;
+        this.termineLe = termineLe;
+    }
+
+    // Getters
+    public Long getEvenementId() { return evenementId; }
+
+    public long getTotal() { return total; }
+
+    public long getTraitees() { return traitees; }
+
+    public boolean isTermine() { return termine; }
+
+    public String getErreur() { return erreur; }
+
+    public LocalDateTime getDemarreLe() { return demarreLe; }
+
+    public LocalDateTime getTermineLe() { return termineLe; }
+
+    public int getPourcentage() {
+        return total == 0 ? 100 : (int) Math.min(100, traitees * 100 / total);
+    }
+}
@@ -0,0 +1,22 @@
+package com.eventmanager.dto;
+
+import java.util.List;
+
+// Page obtenue par clé : nextCursor se passe tel quel à l'appel suivant, null sur la dernière page
+public class CursorPage<T> {
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters
+    public List<T> getItems() { return items; }
+
+    public String getNextCursor() { return nextCursor; }
+
+    public boolean hasNext() { return nextCursor != null; }
+}
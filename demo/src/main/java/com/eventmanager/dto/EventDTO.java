@@ -19,6 +19,8 @@ public class EventDTO {
     private LocalDateTime dateFin;
     private LocalDateTime dateCreation;
     private Long organisateurId;
+    private String organisateurNom;
+    private int placesReservees;
 
     // Constructeurs
     public EventDTO() {}
@@ -41,6 +43,25 @@ public class EventDTO {
         this.organisateurId = organisateurId;
     }
 
+    // Projection JPQL des pages du catalogue (EventRepository.find*Card*) : ni entité ni réservations chargées
+    public EventDTO(Long id, String titre, String description, String lieu, String ville, EventCategory categorie,
+                    EventStatus statut, Double prixUnitaire, Integer capaciteMax, LocalDateTime dateDebut,
+                    LocalDateTime dateFin, String organisateurNom, Number placesReservees) {
+        this.id = id;
+        this.titre = titre;
+        this.description = description;
+        this.lieu = lieu;
+        this.ville = ville;
+        this.categorie = categorie;
+        this.statut = statut;
+        this.prixUnitaire = prixUnitaire;
+        this.capaciteMax = capaciteMax;
+        this.dateDebut = dateDebut;
+        this.dateFin = dateFin;
+        this.organisateurNom = organisateurNom;
+        this.placesReservees = placesReservees != null ? placesReservees.intValue() : 0;
+    }
+
     // Getters & Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -80,4 +101,14 @@ public class EventDTO {
 
     public Long getOrganisateurId() { return organisateurId; }
     public void setOrganisateurId(Long organisateurId) { this.organisateurId = organisateurId; }
+
+    public String getOrganisateurNom() { return organisateurNom; }
+    public void setOrganisateurNom(String organisateurNom) { this.organisateurNom = organisateurNom; }
+
+    public int getPlacesReservees() { return placesReservees; }
+    public void setPlacesReservees(int placesReservees) { this.placesReservees = placesReservees; }
+
+    public int getPlacesDisponibles() {
+        return capaciteMax != null ? Math.max(0, capaciteMax - placesReservees) : 0;
+    }
 }
@@ -0,0 +1,31 @@
+package com.eventmanager.dto;
+
+import com.eventmanager.enums.EventCategory;
+import com.eventmanager.enums.PriceBand;
+
+import java.util.Map;
+
+public class FacetCountsDTO {
+
+    private final int total;
+    private final Map<EventCategory, Integer> parCategorie;
+    private final Map<String, Integer> parVille;
+    private final Map<PriceBand, Integer> parTrancheDePrix;
+
+    public FacetCountsDTO(int total, Map<EventCategory, Integer> parCategorie,
+                          Map<String, Integer> parVille, Map<PriceBand, Integer> parTrancheDePrix) {
+        this.total = total;
+        this.parCategorie = parCategorie;
+        this.parVille = parVille;
+        this.parTrancheDePrix = parTrancheDePrix;
+    }
+
+    // Getters
+    public int getTotal() { return total; }
+
+    public Map<EventCategory, Integer> getParCategorie() { return parCategorie; }
+
+    public Map<String, Integer> getParVille() { return parVille; }
+
+    public Map<PriceBand, Integer> getParTrancheDePrix() { return parTrancheDePrix; }
+}
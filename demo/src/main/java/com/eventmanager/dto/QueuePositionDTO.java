@@ -0,0 +1,25 @@
+package com.eventmanager.dto;
+
+public class QueuePositionDTO {
+
+    private final String token;
+    private final Long evenementId;
+    private final int position;
+    private final boolean admis;
+
+    public QueuePositionDTO(String token, Long evenementId, int position, boolean admis) {
+        this.token = token;
+        this.evenementId = evenementId;
+        this.position = position;
+        this.admis = admis;
+    }
+
+    // Getters
+    public String getToken() { return token; }
+
+    public Long getEvenementId() { return evenementId; }
+
+    public int getPosition() { return position; }
+
+    public boolean isAdmis() { return admis; }
+}
@@ -0,0 +1,98 @@
+package com.eventmanager.dto;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Places disponibles par événement, rangées dans deux tableaux primitifs triés
+ * par identifiant (long[] / int[]) : pas d'objet Long ni Integer par entrée.
+ * getSeats(long) lit sans boxing ; la vue Map sert les appelants existants.
+ */
+public final class SeatAvailabilityMap extends AbstractMap<Long, Integer> {
+
+    private static final SeatAvailabilityMap EMPTY = new SeatAvailabilityMap(new long[0], new int[0]);
+
+    private final long[] eventIds;
+    private final int[] seats;
+
+    private SeatAvailabilityMap(long[] eventIds, int[] seats) {
+        this.eventIds = eventIds;
+        this.seats = seats;
+    }
+
+    public static SeatAvailabilityMap empty() {
+        return EMPTY;
+    }
+
+    // Identifiants strictement croissants (la requête trie par id), sur les size premières cases
+    public static SeatAvailabilityMap of(long[] eventIds, int[] seats, int size) {
+        for (int i = 1; i < size; i++) {
+            if (eventIds[i] <= eventIds[i - 1]) {
+                throw new IllegalArgumentException("Identifiants non triés : " + eventIds[i - 1] + ", " + eventIds[i]);
+            }
+        }
+        return new SeatAvailabilityMap(Arrays.copyOf(eventIds, size), Arrays.copyOf(seats, size));
+    }
+
+    // Places disponibles, ou defaultSeats si l'événement n'existe pas
+    public int getSeats(long eventId, int defaultSeats) {
+        int index = Arrays.binarySearch(eventIds, eventId);
+        return index >= 0 ? seats[index] : defaultSeats;
+    }
+
+    @Override
+    public Integer get(Object key) {
+        if (!(key instanceof Long)) {
+            return null;
+        }
+        int index = Arrays.binarySearch(eventIds, (Long) key);
+        return index >= 0 ? seats[index] : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Long && Arrays.binarySearch(eventIds, (Long) key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return eventIds.length;
+    }
+
+    @Override
+    public Set<Map.Entry<Long, Integer>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<Long, Integer>> iterator() {
+                return new Iterator<>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < eventIds.length;
+                    }
+
+                    @Override
+                    public Map.Entry<Long, Integer> next() {
+                        if (next >= eventIds.length) {
+                            throw new NoSuchElementException();
+                        }
+                        Map.Entry<Long, Integer> entry = new SimpleImmutableEntry<>(eventIds[next], seats[next]);
+                        next++;
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return eventIds.length;
+            }
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package com.eventmanager.dto;
+
+// Projection d'un détenteur de billet : ce que l'avis d'annulation affiche, sans entité chargée
+public class TicketHolderDTO {
+
+    private final Long reservationId;
+    private final String codeReservation;
+    private final String email;
+    private final String nomComplet;
+
+    public TicketHolderDTO(Long reservationId, String codeReservation, String email, String nomComplet) {
+        this.reservationId = reservationId;
+        this.codeReservation = codeReservation;
+        this.email = email;
+        this.nomComplet = nomComplet;
+    }
+
+    // Getters
+    public Long getReservationId() { return reservationId; }
+
+    public String getCodeReservation() { return codeReservation; }
+
+    public String getEmail() { return email; }
+
+    public String getNomComplet() { return nomComplet; }
+}
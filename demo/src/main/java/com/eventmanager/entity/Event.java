@@ -2,15 +2,25 @@ package com.eventmanager.entity;
 
 import com.eventmanager.enums.EventCategory;
 import com.eventmanager.enums.EventStatus;
-import com.eventmanager.enums.ReservationStatus;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "events")
+@Table(name = "events",
+        indexes = {
+                // Index des pages par clé (voir EventRepository.find*PageByDate)
+                @Index(name = "idx_events_date_debut", columnList = "date_debut, id"),
+                @Index(name = "idx_events_statut_date_debut", columnList = "statut, date_debut, id")
+        })
+// Cache de second niveau (région entity-events, voir application.conf)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "entity-events")
 public class Event {
 
     @Id
@@ -48,6 +58,11 @@ public class Event {
     @Column(name = "capacite_max", nullable = false)
     private Integer capaciteMax;
 
+    // Places réservées (dénormalisé), mis à jour uniquement par UPDATE conditionnel
+    @ColumnDefault("0")
+    @Column(name = "reserved_seats", nullable = false, insertable = false, updatable = false)
+    private Integer reservedSeats = 0;
+
     @DecimalMin(value = "0.0", message = "Le prix ne peut pas être négatif")
     @Column(name = "prix_unitaire", nullable = false)
     private Double prixUnitaire;
@@ -148,6 +163,8 @@ public class Event {
     public Integer getCapaciteMax() { return capaciteMax; }
     public void setCapaciteMax(Integer capaciteMax) { this.capaciteMax = capaciteMax; }
 
+    public Integer getReservedSeats() { return reservedSeats; }
+
     public Double getPrixUnitaire() { return prixUnitaire; }
     public void setPrixUnitaire(Double prixUnitaire) { this.prixUnitaire = prixUnitaire; }
 
@@ -172,18 +189,11 @@ public class Event {
     public List<Reservation> getReservations() { return reservations; }
     public void setReservations(List<Reservation> reservations) { this.reservations = reservations; }
 
-    // Méthode utilitaire pour calculer les places disponibles
+    // Méthode utilitaire pour calculer les places disponibles (colonne reserved_seats,
+    // sans charger la collection des réservations)
     public int getPlacesDisponibles() {
-        if (reservations == null || reservations.isEmpty()) {
-            return capaciteMax;
-        }
-
-        long placesReservees = reservations.stream()
-                .filter(r -> r.getStatut() != null && r.getStatut() != ReservationStatus.ANNULEE)
-                .mapToLong(Reservation::getNombrePlaces)
-                .sum();
-
-        return (int) (capaciteMax - placesReservees);
+        int placesReservees = reservedSeats != null ? reservedSeats : 0;
+        return capaciteMax - placesReservees;
     }
 
     // Méthode pour vérifier si l'événement est complet
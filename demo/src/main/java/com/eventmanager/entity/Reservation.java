@@ -3,17 +3,26 @@ package com.eventmanager.entity;
 import com.eventmanager.enums.ReservationStatus;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 @Entity
 @Table(name = "reservations",
-        uniqueConstraints = @UniqueConstraint(columnNames = "code_reservation"))
+        uniqueConstraints = @UniqueConstraint(columnNames = "code_reservation"),
+        indexes = {
+                // Index des pages par clé (voir ReservationRepository.findPageBy*)
+                @Index(name = "idx_reservations_utilisateur_date", columnList = "utilisateur_id, date_reservation DESC, id DESC"),
+                @Index(name = "idx_reservations_statut_date", columnList = "statut, date_reservation DESC, id DESC"),
+                @Index(name = "idx_reservations_date", columnList = "date_reservation DESC, id DESC")
+        })
 public class Reservation {
 
+    // Séquence reservations_seq, réservée par blocs de 50 : pas d'aller-retour par INSERT,
+    // et Hibernate peut regrouper les INSERT en lots (hibernate.jdbc.batch_size)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservations_seq")
+    @SequenceGenerator(name = "reservations_seq", sequenceName = "reservations_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -43,38 +52,22 @@ public class Reservation {
 
     private String commentaire;
 
-    // Méthode unique qui combine toutes les validations
+    // Verrouillage optimiste : deux modifications concurrentes d'une même réservation
+    // (annulation, changement de places) ne peuvent pas libérer les places deux fois
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Integer version;
+
+    // Calcul du montant avant écriture ; le code est attribué par
+    // ReservationCodeListener. La vérification de capacité est faite par le
+    // service (CapacityValidator), sans parcourir les réservations de l'événement.
     @PrePersist
     @PreUpdate
-    private void validateAndCalculate() {
-        // 1. Génération automatique du code de réservation
-        if (codeReservation == null) {
-            String uuid = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-            this.codeReservation = "EVT-" + uuid;
-        }
-
-        // 2. Calcul automatique du montant total
+    private void calculateMontantTotal() {
         if (evenement != null && nombrePlaces != null) {
             this.montantTotal = evenement.getPrixUnitaire() * nombrePlaces;
         }
-
-        // 3. Validation du nombre de places vs capacité
-        if (evenement != null && nombrePlaces != null) {
-            // Calculer les places déjà réservées (sans compter les annulées)
-            long placesReservees = evenement.getReservations().stream()
-                    .filter(r -> r != this && r.getStatut() != ReservationStatus.ANNULEE)
-                    .mapToLong(Reservation::getNombrePlaces)
-                    .sum();
-
-            long placesDisponibles = evenement.getCapaciteMax() - placesReservees;
-
-            if (nombrePlaces > placesDisponibles) {
-                throw new IllegalArgumentException(
-                        String.format("Nombre de places insuffisant. Disponible: %d, Demandé: %d",
-                                placesDisponibles, nombrePlaces)
-                );
-            }
-        }
     }
 
     // Constructeurs
@@ -84,8 +77,7 @@ public class Reservation {
         this.utilisateur = utilisateur;
         this.evenement = evenement;
         this.nombrePlaces = nombrePlaces;
-        // Appel manuel de la validation
-        this.validateAndCalculate();
+        calculateMontantTotal();
     }
 
     // Getters et Setters
@@ -93,22 +85,13 @@ public class Reservation {
     public void setId(Long id) { this.id = id; }
 
     public User getUtilisateur() { return utilisateur; }
-    public void setUtilisateur(User utilisateur) {
-        this.utilisateur = utilisateur;
-        this.validateAndCalculate();
-    }
+    public void setUtilisateur(User utilisateur) { this.utilisateur = utilisateur; }
 
     public Event getEvenement() { return evenement; }
-    public void setEvenement(Event evenement) {
-        this.evenement = evenement;
-        this.validateAndCalculate();
-    }
+    public void setEvenement(Event evenement) { this.evenement = evenement; }
 
     public Integer getNombrePlaces() { return nombrePlaces; }
-    public void setNombrePlaces(Integer nombrePlaces) {
-        this.nombrePlaces = nombrePlaces;
-        this.validateAndCalculate();
-    }
+    public void setNombrePlaces(Integer nombrePlaces) { this.nombrePlaces = nombrePlaces; }
 
     public Double getMontantTotal() { return montantTotal; }
     public void setMontantTotal(Double montantTotal) { this.montantTotal = montantTotal; }
@@ -125,6 +108,8 @@ public class Reservation {
     public String getCommentaire() { return commentaire; }
     public void setCommentaire(String commentaire) { this.commentaire = commentaire; }
 
+    public Integer getVersion() { return version; }
+
     // Méthode utilitaire pour afficher les infos de réservation
     public String getInfoReservation() {
         return String.format("Réservation %s - %s places pour %s",
@@ -0,0 +1,48 @@
+package com.eventmanager.entity;
+
+import com.eventmanager.service.ReservationCodeGenerator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PreInsertEvent;
+import org.hibernate.event.spi.PreInsertEventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Attribue le code d'une nouvelle réservation juste avant son INSERT.
+ * L'identifiant vient de la séquence reservations_seq (@SequenceGenerator) et
+ * n'est connu qu'après @PrePersist : le code est donc calculé dans l'événement
+ * PRE_INSERT d'Hibernate, qui reçoit l'identifiant et l'état à insérer.
+ */
+@Component
+public class ReservationCodeListener implements PreInsertEventListener {
+
+    private static final String CODE_PROPERTY = "codeReservation";
+
+    private final ReservationCodeGenerator codeGenerator;
+
+    public ReservationCodeListener(ReservationCodeGenerator codeGenerator,
+                                   EntityManagerFactory entityManagerFactory) {
+        this.codeGenerator = codeGenerator;
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class).getServiceRegistry()
+                .getService(EventListenerRegistry.class)
+                .appendListeners(EventType.PRE_INSERT, this);
+    }
+
+    @Override
+    public boolean onPreInsert(PreInsertEvent event) {
+        if (event.getEntity() instanceof Reservation reservation && reservation.getCodeReservation() == null) {
+            String code = codeGenerator.generate((Long) event.getId());
+            reservation.setCodeReservation(code);
+            // L'INSERT utilise l'état déjà extrait de l'entité
+            String[] properties = event.getPersister().getPropertyNames();
+            for (int i = 0; i < properties.length; i++) {
+                if (CODE_PROPERTY.equals(properties[i])) {
+                    event.getState()[i] = code;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,36 @@
+package com.eventmanager.enums;
+
+// Tranches de prix proposées comme facettes (borne basse incluse, borne haute exclue)
+public enum PriceBand {
+    GRATUIT("Gratuit", 0, Double.MIN_VALUE),
+    MOINS_DE_100("Moins de 100 DH", Double.MIN_VALUE, 100),
+    DE_100_A_300("100 à 300 DH", 100, 300),
+    DE_300_A_500("300 à 500 DH", 300, 500),
+    PLUS_DE_500("500 DH et plus", 500, Double.POSITIVE_INFINITY);
+
+    private final String libelle;
+    private final double min;
+    private final double max;
+
+    PriceBand(String libelle, double min, double max) {
+        this.libelle = libelle;
+        this.min = min;
+        this.max = max;
+    }
+
+    public static PriceBand of(Double prix) {
+        double value = prix != null ? prix : 0;
+        for (PriceBand band : values()) {
+            if (value < band.max) {
+                return band;
+            }
+        }
+        return PLUS_DE_500;
+    }
+
+    public String getLibelle() { return libelle; }
+
+    public double getMin() { return min; }
+
+    public double getMax() { return max; }
+}
@@ -1,20 +1,32 @@
 package com.eventmanager.repository;
 
+import com.eventmanager.dto.EventDTO;
 import com.eventmanager.entity.Event;
 import com.eventmanager.enums.EventCategory;
 import com.eventmanager.enums.EventStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
 
+    // Espace de synchronisation des UPDATE natifs sur reserved_seats : sans lui, Hibernate
+    // viderait toutes les régions du cache de second niveau à chaque réservation
+    // (SeatInventory évince seulement l'entrée de l'événement modifié)
+    String RESERVED_SEATS_SPACE = "events_reserved_seats";
+
     // Trouver les événements par catégorie
     List<Event> findByCategorie(EventCategory categorie);
 
@@ -30,6 +42,10 @@ public interface EventRepository extends JpaRepository<Event, Long> {
 
     // Compter le nombre d'événements par catégorie
     @Query("SELECT e.categorie, COUNT(e) FROM Event e GROUP BY e.categorie")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query-event-counts")
+    })
     List<Object[]> countByCategorie();
 
     // Trouver les événements par lieu ou ville
@@ -41,34 +57,100 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     // Trouver les événements par plage de prix
     List<Event> findByPrixUnitaireBetween(Double prixMin, Double prixMax);
 
-    // Recherche avancée d'événements avec filtres
-    @Query("SELECT DISTINCT e FROM Event e LEFT JOIN FETCH e.reservations r WHERE " +
-            "(:keyword IS NULL OR LOWER(e.titre) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
-            "OR LOWER(e.description) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND " +
-            "(:ville IS NULL OR LOWER(e.ville) LIKE LOWER(CONCAT('%', :ville, '%'))) AND " +
-            "(:categorie IS NULL OR e.categorie = :categorie) AND " +
-            "(:prixMin IS NULL OR e.prixUnitaire >= :prixMin) AND " +
-            "(:prixMax IS NULL OR e.prixUnitaire <= :prixMax) AND " +
-            "e.statut = 'PUBLIE' AND e.dateFin > CURRENT_TIMESTAMP")
-    List<Event> searchEvents(@Param("keyword") String keyword,
-                             @Param("ville") String ville,
-                             @Param("categorie") EventCategory categorie,
-                             @Param("prixMin") Double prixMin,
-                             @Param("prixMax") Double prixMax);
-
-    // Événements populaires
-    @Query("SELECT e, COUNT(r) as reservationCount FROM Event e LEFT JOIN e.reservations r " +
-            "WHERE r.statut != 'ANNULEE' GROUP BY e ORDER BY reservationCount DESC")
-    List<Object[]> findPopularEvents(Pageable pageable);
-
-    // Événements à venir avant une date donnée
-    @Query("SELECT e FROM Event e WHERE e.dateDebut BETWEEN CURRENT_TIMESTAMP AND :dateLimit AND e.statut = 'PUBLIE'")
+    // Événements à venir avant une date donnée (dateLimit arrondie par l'appelant, clé du cache)
+    @Query("SELECT e FROM Event e LEFT JOIN FETCH e.organisateur " +
+            "WHERE e.dateDebut BETWEEN CURRENT_TIMESTAMP AND :dateLimit AND e.statut = 'PUBLIE'")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query-upcoming-events")
+    })
     List<Event> findUpcomingEvents(@Param("dateLimit") LocalDateTime dateLimit);
 
     // ✅ Nombre total de places réservées pour un événement
     @Query("SELECT COALESCE(SUM(r.nombrePlaces), 0) FROM Reservation r WHERE r.evenement.id = :eventId AND r.statut != 'ANNULEE'")
     int countReservedSeats(@Param("eventId") Long eventId);
 
+    // Réservation atomique de places : 1 ligne modifiée si la capacité le permet, 0 sinon
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = RESERVED_SEATS_SPACE))
+    @Query(value = "UPDATE events SET reserved_seats = reserved_seats + :places " +
+            "WHERE id = :eventId AND reserved_seats + :places <= capacite_max", nativeQuery = true)
+    int claimSeats(@Param("eventId") Long eventId, @Param("places") int places);
+
+    // Libération de places (annulation, expiration, diminution)
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = RESERVED_SEATS_SPACE))
+    @Query(value = "UPDATE events SET reserved_seats = GREATEST(reserved_seats - :places, 0) " +
+            "WHERE id = :eventId", nativeQuery = true)
+    int releaseSeats(@Param("eventId") Long eventId, @Param("places") int places);
+
+    // Changement de capacité : 0 ligne modifiée si elle passerait sous les places déjà réservées.
+    // Le contexte de persistance est vidé : une entité Event déjà chargée serait périmée
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = RESERVED_SEATS_SPACE))
+    @Query(value = "UPDATE events SET capacite_max = :capacite, date_modification = CURRENT_TIMESTAMP " +
+            "WHERE id = :eventId AND reserved_seats <= :capacite", nativeQuery = true)
+    int updateCapacity(@Param("eventId") Long eventId, @Param("capacite") int capacite);
+
+    // Réparation : recalcule reserved_seats à partir de la table des réservations
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = RESERVED_SEATS_SPACE))
+    @Query(value = "UPDATE events e SET reserved_seats = (SELECT COALESCE(SUM(r.nombre_places), 0) " +
+            "FROM reservations r WHERE r.evenement_id = e.id AND r.statut <> 'ANNULEE')", nativeQuery = true)
+    int recomputeReservedSeats();
+
+    // Places réservées de tous les événements (chargement de l'inventaire)
+    @Query("SELECT e.id, e.reservedSeats FROM Event e")
+    List<Object[]> findAllReservedSeats();
+
+    // Places disponibles de plusieurs événements en une requête, triées par id
+    @Query("SELECT e.id, e.capaciteMax - e.reservedSeats FROM Event e WHERE e.id IN :ids ORDER BY e.id")
+    List<Object[]> findAvailableSeats(@Param("ids") Collection<Long> ids);
+
+    // Projection des pages du catalogue : colonnes affichées et places réservées (colonne reserved_seats)
+    String CARD_PROJECTION = "SELECT new com.eventmanager.dto.EventDTO(e.id, e.titre, e.description, e.lieu, e.ville, " +
+            "e.categorie, e.statut, e.prixUnitaire, e.capaciteMax, e.dateDebut, e.dateFin, CONCAT(o.prenom, ' ', o.nom), " +
+            "e.reservedSeats) " +
+            "FROM Event e JOIN e.organisateur o ";
+
+    // Événements disponibles par fenêtres (liste virtualisée du catalogue)
+    @Query("SELECT COUNT(e) FROM Event e WHERE e.statut = 'PUBLIE' AND e.dateFin > :now")
+    long countAvailable(@Param("now") LocalDateTime now);
+
+    @Query(CARD_PROJECTION + "WHERE e.statut = 'PUBLIE' AND e.dateFin > :now ORDER BY e.dateDebut, e.id")
+    List<EventDTO> findAvailableCards(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query(CARD_PROJECTION + "WHERE e.id IN :ids")
+    List<EventDTO> findCardsByIds(@Param("ids") Collection<Long> ids);
+
+    @Query(CARD_PROJECTION + "WHERE e.id = :id")
+    Optional<EventDTO> findCardById(@Param("id") Long id);
+
+    // Pages par clé : (dateDebut, id) croissants, ou id seul.
+    // La borne dateDebut >= :afterDate est posée à part pour que la base parcoure l'index à partir du curseur
+    @Query("SELECT e FROM Event e WHERE e.dateDebut >= :afterDate " +
+            "AND (e.dateDebut > :afterDate OR e.id > :afterId) ORDER BY e.dateDebut, e.id")
+    List<Event> findPageByDate(@Param("afterDate") LocalDateTime afterDate,
+                               @Param("afterId") Long afterId,
+                               Pageable pageable);
+
+    @Query("SELECT e FROM Event e WHERE e.id > :afterId ORDER BY e.id")
+    List<Event> findPageById(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT e FROM Event e WHERE e.statut = 'PUBLIE' AND e.dateFin > :now " +
+            "AND e.dateDebut >= :afterDate AND (e.dateDebut > :afterDate OR e.id > :afterId) " +
+            "ORDER BY e.dateDebut, e.id")
+    List<Event> findAvailablePageByDate(@Param("now") LocalDateTime now,
+                                        @Param("afterDate") LocalDateTime afterDate,
+                                        @Param("afterId") Long afterId,
+                                        Pageable pageable);
+
+    @Query("SELECT e FROM Event e WHERE e.statut = 'PUBLIE' AND e.dateFin > :now AND e.id > :afterId " +
+            "ORDER BY e.id")
+    List<Event> findAvailablePageById(@Param("now") LocalDateTime now,
+                                      @Param("afterId") Long afterId,
+                                      Pageable pageable);
+
     // Statistiques de revenus
     @Query("SELECT e, COALESCE(SUM(r.montantTotal), 0) as revenue FROM Event e LEFT JOIN e.reservations r " +
             "WHERE r.statut = 'CONFIRMEE' GROUP BY e ORDER BY revenue DESC")
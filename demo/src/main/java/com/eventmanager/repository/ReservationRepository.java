@@ -1,14 +1,17 @@
 package com.eventmanager.repository;
 
+import com.eventmanager.dto.TicketHolderDTO;
 import com.eventmanager.entity.Reservation;
 import com.eventmanager.enums.ReservationStatus;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +21,18 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     // Réservations d'un utilisateur
     List<Reservation> findByUtilisateurId(Long utilisateurId);
 
+    // Mêmes lectures avec utilisateur et événement chargés (entités lues hors de la session)
+    @Query("SELECT r FROM Reservation r JOIN FETCH r.utilisateur JOIN FETCH r.evenement WHERE r.id = :id")
+    Optional<Reservation> findWithDetailsById(@Param("id") Long id);
+
+    @Query("SELECT r FROM Reservation r JOIN FETCH r.utilisateur JOIN FETCH r.evenement " +
+            "WHERE r.utilisateur.id = :utilisateurId")
+    List<Reservation> findWithDetailsByUtilisateurId(@Param("utilisateurId") Long utilisateurId);
+
+    @Query("SELECT r FROM Reservation r JOIN FETCH r.utilisateur JOIN FETCH r.evenement " +
+            "WHERE r.evenement.id = :evenementId")
+    List<Reservation> findWithDetailsByEvenementId(@Param("evenementId") Long evenementId);
+
     // Réservations d'un événement avec statut donné
     List<Reservation> findByEvenementIdAndStatut(Long evenementId, ReservationStatus statut);
 
@@ -62,6 +77,94 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
             "AND r.dateReservation < :dateLimite")
     List<Reservation> findPendingReservationsOlderThan(@Param("dateLimite") LocalDateTime dateLimite);
 
+    // Identifiants des réservations en attente depuis plus de X heures
+    @Query("SELECT r.id FROM Reservation r WHERE r.statut = 'EN_ATTENTE' " +
+            "AND r.dateReservation < :dateLimite")
+    List<Long> findPendingReservationIdsOlderThan(@Param("dateLimite") LocalDateTime dateLimite);
+
+    // Verrouille les réservations encore en attente parmi les ids donnés (id, événement, places)
+    @Query(value = "SELECT id, evenement_id, nombre_places FROM reservations " +
+            "WHERE id IN (:ids) AND statut = 'EN_ATTENTE' ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Object[]> lockPendingReservations(@Param("ids") Collection<Long> ids);
+
+    // Verrouille les réservations non annulées parmi les ids donnés (id, places)
+    @Query(value = "SELECT id, nombre_places FROM reservations " +
+            "WHERE id IN (:ids) AND statut <> 'ANNULEE' ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Object[]> lockActiveReservations(@Param("ids") Collection<Long> ids);
+
+    // Annulation groupée (un seul UPDATE pour tout le lot) ; une réservation déjà annulée n'est pas touchée
+    @Modifying
+    @Query("UPDATE Reservation r SET r.statut = :statut, r.version = r.version + 1, " +
+            "r.commentaire = CASE WHEN r.commentaire IS NULL THEN :note " +
+            "ELSE CONCAT(r.commentaire, ' | ', :note) END " +
+            "WHERE r.id IN :ids AND r.statut <> 'ANNULEE'")
+    int updateStatusInBatch(@Param("ids") Collection<Long> ids,
+                            @Param("statut") ReservationStatus statut,
+                            @Param("note") String note);
+
+    // Détenteurs de billets d'un événement, par pages de clé (id croissant) : colonnes de l'avis seulement
+    @Query("SELECT new com.eventmanager.dto.TicketHolderDTO(r.id, r.codeReservation, u.email, " +
+            "CONCAT(u.prenom, ' ', u.nom)) " +
+            "FROM Reservation r JOIN r.utilisateur u " +
+            "WHERE r.evenement.id = :evenementId AND r.statut != 'ANNULEE' AND r.id > :afterId " +
+            "ORDER BY r.id")
+    List<TicketHolderDTO> findTicketHoldersAfter(@Param("evenementId") Long evenementId,
+                                                 @Param("afterId") Long afterId,
+                                                 Pageable pageable);
+
+    // Nombre de réservations non annulées d'un événement
+    @Query("SELECT COUNT(r) FROM Reservation r " +
+            "WHERE r.evenement.id = :evenementId AND r.statut != 'ANNULEE'")
+    long countActiveReservationsByEventId(@Param("evenementId") Long evenementId);
+
+    // Pages par clé, des plus récentes aux plus anciennes : (dateReservation, id) décroissants, ou id seul.
+    // La borne dateReservation <= :afterDate est posée à part pour que la base parcoure l'index à partir du curseur
+    @Query("SELECT r FROM Reservation r WHERE r.utilisateur.id = :utilisateurId " +
+            "AND r.dateReservation <= :afterDate AND (r.dateReservation < :afterDate OR r.id < :afterId) " +
+            "ORDER BY r.dateReservation DESC, r.id DESC")
+    List<Reservation> findPageByUtilisateurIdAndDate(@Param("utilisateurId") Long utilisateurId,
+                                                     @Param("afterDate") LocalDateTime afterDate,
+                                                     @Param("afterId") Long afterId,
+                                                     Pageable pageable);
+
+    @Query("SELECT r FROM Reservation r WHERE r.utilisateur.id = :utilisateurId AND r.id < :afterId " +
+            "ORDER BY r.id DESC")
+    List<Reservation> findPageByUtilisateurIdAndId(@Param("utilisateurId") Long utilisateurId,
+                                                   @Param("afterId") Long afterId,
+                                                   Pageable pageable);
+
+    @Query("SELECT r FROM Reservation r WHERE r.statut = :statut " +
+            "AND r.dateReservation <= :afterDate AND (r.dateReservation < :afterDate OR r.id < :afterId) " +
+            "ORDER BY r.dateReservation DESC, r.id DESC")
+    List<Reservation> findPageByStatutAndDate(@Param("statut") ReservationStatus statut,
+                                              @Param("afterDate") LocalDateTime afterDate,
+                                              @Param("afterId") Long afterId,
+                                              Pageable pageable);
+
+    @Query("SELECT r FROM Reservation r WHERE r.statut = :statut AND r.id < :afterId ORDER BY r.id DESC")
+    List<Reservation> findPageByStatutAndId(@Param("statut") ReservationStatus statut,
+                                            @Param("afterId") Long afterId,
+                                            Pageable pageable);
+
+    // Recherche (nom, prénom, email, titre de l'événement, code) ; :pattern est déjà en minuscules avec les %
+    @Query("SELECT r FROM Reservation r JOIN FETCH r.utilisateur u JOIN FETCH r.evenement e " +
+            "WHERE (LOWER(u.nom) LIKE :pattern OR LOWER(u.prenom) LIKE :pattern OR LOWER(u.email) LIKE :pattern " +
+            "OR LOWER(e.titre) LIKE :pattern OR LOWER(r.codeReservation) LIKE :pattern) " +
+            "AND r.dateReservation <= :afterDate AND (r.dateReservation < :afterDate OR r.id < :afterId) " +
+            "ORDER BY r.dateReservation DESC, r.id DESC")
+    List<Reservation> searchPageByDate(@Param("pattern") String pattern,
+                                       @Param("afterDate") LocalDateTime afterDate,
+                                       @Param("afterId") Long afterId,
+                                       Pageable pageable);
+
+    @Query("SELECT r FROM Reservation r JOIN FETCH r.utilisateur u JOIN FETCH r.evenement e " +
+            "WHERE (LOWER(u.nom) LIKE :pattern OR LOWER(u.prenom) LIKE :pattern OR LOWER(u.email) LIKE :pattern " +
+            "OR LOWER(e.titre) LIKE :pattern OR LOWER(r.codeReservation) LIKE :pattern) " +
+            "AND r.id < :afterId ORDER BY r.id DESC")
+    List<Reservation> searchPageById(@Param("pattern") String pattern,
+                                     @Param("afterId") Long afterId,
+                                     Pageable pageable);
+
     // Top clients (avec pagination)
     @Query("SELECT r.utilisateur, COUNT(r), SUM(r.montantTotal) " +
             "FROM Reservation r WHERE r.statut = 'CONFIRMEE' " +
@@ -73,4 +176,9 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
             "FROM Reservation r WHERE r.statut = 'CONFIRMEE' " +
             "GROUP BY r.evenement")
     List<Object[]> getReservationStatsByEvent();
-}
\ No newline at end of file
+
+    // Réservations passées depuis une date (événement, date, places), pour le classement des tendances
+    @Query("SELECT r.evenement.id, r.dateReservation, r.nombrePlaces FROM Reservation r " +
+            "WHERE r.dateReservation >= :since")
+    List<Object[]> findBookingsSince(@Param("since") LocalDateTime since);
+}
@@ -3,7 +3,10 @@ package com.eventmanager.repository;
 import com.eventmanager.entity.User;
 import com.eventmanager.enums.UserRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -14,6 +17,11 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    // Lue à chaque requête HTTP (utilisateur connecté) : résultat dans le cache de requêtes
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query-user-by-email")
+    })
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
@@ -0,0 +1,52 @@
+package com.eventmanager.security;
+
+import com.eventmanager.entity.User;
+import com.eventmanager.enums.UserRole;
+
+import java.io.Serializable;
+
+/**
+ * Copie immuable de l'utilisateur connecté, gardée en session : de quoi afficher
+ * l'en-tête et vérifier les rôles sans relire l'utilisateur en base.
+ */
+public final class AuthenticatedPrincipal implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final String email;
+    private final String nom;
+    private final String prenom;
+    private final UserRole role;
+    private final boolean actif;
+    // Version de l'utilisateur au moment de la copie (voir PrincipalCache)
+    private final long version;
+
+    public AuthenticatedPrincipal(User user, long version) {
+        this.id = user.getId();
+        this.email = user.getEmail();
+        this.nom = user.getNom();
+        this.prenom = user.getPrenom();
+        this.role = user.getRole();
+        this.actif = Boolean.TRUE.equals(user.getActif());
+        this.version = version;
+    }
+
+    public Long getId() { return id; }
+
+    public String getEmail() { return email; }
+
+    public String getNom() { return nom; }
+
+    public String getPrenom() { return prenom; }
+
+    public UserRole getRole() { return role; }
+
+    public boolean isActif() { return actif; }
+
+    public long getVersion() { return version; }
+
+    public String getFullName() {
+        return prenom + " " + nom;
+    }
+}
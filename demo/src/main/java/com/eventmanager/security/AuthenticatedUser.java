@@ -2,6 +2,7 @@ package com.eventmanager.security;
 
 import com.eventmanager.entity.User;
 import com.eventmanager.repository.UserRepository;
+import com.eventmanager.service.RequestMemo;
 import com.vaadin.flow.spring.security.AuthenticationContext;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
@@ -14,17 +15,31 @@ public class AuthenticatedUser {
 
     private final UserRepository userRepository;
     private final AuthenticationContext authenticationContext;
+    private final RequestMemo requestMemo;
+    private final PrincipalCache principalCache;
 
     public AuthenticatedUser(AuthenticationContext authenticationContext,
-                             UserRepository userRepository) {
+                             UserRepository userRepository,
+                             RequestMemo requestMemo,
+                             PrincipalCache principalCache) {
         this.userRepository = userRepository;
         this.authenticationContext = authenticationContext;
+        this.requestMemo = requestMemo;
+        this.principalCache = principalCache;
     }
 
+    // Copie de l'utilisateur gardée en session : rôles, nom et identifiant sans requête SQL
+    public Optional<AuthenticatedPrincipal> getPrincipal() {
+        return authenticationContext.getAuthenticatedUser(UserDetails.class)
+                .flatMap(userDetails -> principalCache.get(userDetails.getUsername()));
+    }
+
+    // Entité complète, pour les vues qui la modifient ; mémoïsée dans la requête
     @Transactional
     public Optional<User> get() {
         return authenticationContext.getAuthenticatedUser(UserDetails.class)
-                .flatMap(userDetails -> userRepository.findByEmail(userDetails.getUsername()));
+                .flatMap(userDetails -> requestMemo.get(RequestMemo.AUTHENTICATED_USER, userDetails.getUsername(),
+                        () -> userRepository.findByEmail(userDetails.getUsername())));
     }
 
     public void logout() {
@@ -36,7 +51,7 @@ public class AuthenticatedUser {
     }
 
     public boolean hasRole(String role) {
-        return get().map(user -> user.getRole().name().equals(role)).orElse(false);
+        return getPrincipal().map(principal -> principal.getRole().name().equals(role)).orElse(false);
     }
 
     public boolean isAdmin() {
@@ -52,16 +67,16 @@ public class AuthenticatedUser {
     }
 
     public Optional<String> getEmail() {
-        return get().map(User::getEmail);
+        return getPrincipal().map(AuthenticatedPrincipal::getEmail);
     }
 
     public String getFullName() {
-        return get()
-                .map(user -> user.getPrenom() + " " + user.getNom())
+        return getPrincipal()
+                .map(AuthenticatedPrincipal::getFullName)
                 .orElse("Utilisateur");
     }
 
     public Optional<Long> getUserId() {
-        return get().map(User::getId);
+        return getPrincipal().map(AuthenticatedPrincipal::getId);
     }
 }
\ No newline at end of file
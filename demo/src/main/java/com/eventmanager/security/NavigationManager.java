@@ -1,6 +1,5 @@
 package com.eventmanager.security;
 
-import com.eventmanager.entity.User;
 import com.vaadin.flow.component.UI;
 import org.springframework.stereotype.Component;
 
@@ -14,14 +13,14 @@ public class NavigationManager {
     }
 
     public void navigateToUserHome() {
-        authenticatedUser.get().ifPresentOrElse(
+        authenticatedUser.getPrincipal().ifPresentOrElse(
                 this::navigateBasedOnRole,
                 () -> UI.getCurrent().navigate("login")
         );
     }
 
-    private void navigateBasedOnRole(User user) {
-        switch (user.getRole()) {
+    private void navigateBasedOnRole(AuthenticatedPrincipal principal) {
+        switch (principal.getRole()) {
             case ADMIN -> UI.getCurrent().navigate("admin/dashboard");
             case ORGANIZER -> UI.getCurrent().navigate("organizer/dashboard");
             case CLIENT -> UI.getCurrent().navigate("dashboard");
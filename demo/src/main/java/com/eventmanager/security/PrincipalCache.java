@@ -0,0 +1,85 @@
+package com.eventmanager.security;
+
+import com.eventmanager.repository.UserRepository;
+import com.eventmanager.service.UserChangedEvent;
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.server.WrappedSession;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Utilisateur connecté gardé en session (AuthenticatedPrincipal). Chaque modification
+ * d'un utilisateur incrémente sa version après le commit : toutes ses sessions relisent
+ * alors l'utilisateur à leur prochain accès.
+ */
+@Component
+public class PrincipalCache {
+
+    static final String SESSION_ATTRIBUTE = AuthenticatedPrincipal.class.getName();
+
+    private final UserRepository userRepository;
+
+    // Version courante par email ; absent = 0
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+
+    public PrincipalCache(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    public Optional<AuthenticatedPrincipal> get(String email) {
+        long version = versions.getOrDefault(email, 0L);
+        Object cached = sessionAttribute();
+        // Même session, autre utilisateur (reconnexion) ou utilisateur modifié : on relit
+        if (cached instanceof AuthenticatedPrincipal principal
+                && principal.getEmail().equals(email) && principal.getVersion() == version) {
+            return Optional.of(principal);
+        }
+        // Version lue avant l'utilisateur : une modification concurrente invalide cette copie
+        Optional<AuthenticatedPrincipal> loaded = userRepository.findByEmail(email)
+                .map(user -> new AuthenticatedPrincipal(user, version));
+        loaded.ifPresent(this::storeSessionAttribute);
+        return loaded;
+    }
+
+    public void invalidate(String email) {
+        versions.merge(email, 1L, Long::sum);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent changed) {
+        invalidate(changed.getEmail());
+    }
+
+    // Session Vaadin (requêtes de l'UI et accès push), sinon session HTTP de la requête
+    private Object sessionAttribute() {
+        WrappedSession session = vaadinSession();
+        if (session != null) {
+            return session.getAttribute(SESSION_ATTRIBUTE);
+        }
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        return request != null ? request.getAttribute(SESSION_ATTRIBUTE, RequestAttributes.SCOPE_SESSION) : null;
+    }
+
+    private void storeSessionAttribute(AuthenticatedPrincipal principal) {
+        WrappedSession session = vaadinSession();
+        if (session != null) {
+            session.setAttribute(SESSION_ATTRIBUTE, principal);
+            return;
+        }
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.setAttribute(SESSION_ATTRIBUTE, principal, RequestAttributes.SCOPE_SESSION);
+        }
+    }
+
+    private static WrappedSession vaadinSession() {
+        VaadinSession session = VaadinSession.getCurrent();
+        return session != null ? session.getSession() : null;
+    }
+}
@@ -16,26 +16,38 @@ public class SecurityService {
     @Autowired
     private UserRepository userRepository;
 
-    public Optional<User> getAuthenticatedUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-
-        if (authentication != null && authentication.isAuthenticated()
-                && authentication.getPrincipal() instanceof UserDetails userDetails) {
+    @Autowired
+    private PrincipalCache principalCache;
 
-            return userRepository.findByEmail(userDetails.getUsername());
-        }
+    public Optional<User> getAuthenticatedUser() {
+        return authenticatedEmail().flatMap(userRepository::findByEmail);
+    }
 
-        return Optional.empty();
+    // Copie gardée en session (voir PrincipalCache) : pas de requête SQL par appel
+    public Optional<AuthenticatedPrincipal> getAuthenticatedPrincipal() {
+        return authenticatedEmail().flatMap(principalCache::get);
     }
 
     public boolean isUserLoggedIn() {
-        return getAuthenticatedUser().isPresent();
+        return getAuthenticatedPrincipal().isPresent();
     }
 
     public boolean hasRole(String role) {
-        return getAuthenticatedUser()
-                .map(user -> user.getRole().name().equals("ROLE_" + role) ||
-                        user.getRole().name().equals(role))
+        return getAuthenticatedPrincipal()
+                .map(principal -> principal.getRole().name().equals("ROLE_" + role) ||
+                        principal.getRole().name().equals(role))
                 .orElse(false);
     }
+
+    private Optional<String> authenticatedEmail() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication != null && authentication.isAuthenticated()
+                && authentication.getPrincipal() instanceof UserDetails userDetails) {
+
+            return Optional.of(userDetails.getUsername());
+        }
+
+        return Optional.empty();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.eventmanager.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Taux de succès et d'échec des caches Caffeine (voir CacheConfig).
+ */
+@Service
+public class CacheStatistics {
+
+    private final CacheManager cacheManager;
+
+    public CacheStatistics(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    // Par cache : hitRate, missRate, hits, misses, evictions, size
+    public Map<String, Map<String, Object>> getStatistics() {
+        Map<String, Map<String, Object>> statistics = new LinkedHashMap<>();
+        for (String name : new TreeSet<>(cacheManager.getCacheNames())) {
+            CaffeineCache cache = caffeine(cacheManager.getCache(name));
+            if (cache == null) {
+                continue;
+            }
+            CacheStats stats = cache.getNativeCache().stats();
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("hitRate", Math.round(stats.hitRate() * 1000.0) / 1000.0);
+            values.put("missRate", Math.round(stats.missRate() * 1000.0) / 1000.0);
+            values.put("hits", stats.hitCount());
+            values.put("misses", stats.missCount());
+            values.put("evictions", stats.evictionCount());
+            values.put("size", cache.getNativeCache().estimatedSize());
+            statistics.put(name, values);
+        }
+        return statistics;
+    }
+
+    public CacheStats getStats(String cacheName) {
+        CaffeineCache cache = caffeine(cacheManager.getCache(cacheName));
+        return cache != null ? cache.getNativeCache().stats() : CacheStats.empty();
+    }
+
+    private static CaffeineCache caffeine(Cache cache) {
+        if (cache instanceof TransactionAwareCacheDecorator) {
+            cache = ((TransactionAwareCacheDecorator) cache).getTargetCache();
+        }
+        return cache instanceof CaffeineCache ? (CaffeineCache) cache : null;
+    }
+}
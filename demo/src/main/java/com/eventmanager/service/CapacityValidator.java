@@ -0,0 +1,16 @@
+package com.eventmanager.service;
+
+import com.eventmanager.entity.Event;
+
+/**
+ * Stratégie de vérification de la capacité d'un événement avant réservation.
+ * Les implémentations s'appuient sur un compteur ou un agrégat, jamais sur
+ * la collection des réservations de l'événement.
+ */
+public interface CapacityValidator {
+
+    /**
+     * @throws com.eventmanager.exception.BusinessException si les places demandées dépassent les places disponibles
+     */
+    void checkCapacity(Event event, int requestedSeats);
+}
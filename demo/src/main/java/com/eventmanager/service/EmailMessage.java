@@ -0,0 +1,19 @@
+package com.eventmanager.service;
+
+// Message prêt à être remis au transport (un par destinataire et par lot)
+public class EmailMessage {
+
+    private final String to;
+    private final String subject;
+    private final String body;
+
+    public EmailMessage(String to, String subject, String body) {
+        this.to = to;
+        this.subject = subject;
+        this.body = body;
+    }
+
+    public String getTo() { return to; }
+    public String getSubject() { return subject; }
+    public String getBody() { return body; }
+}
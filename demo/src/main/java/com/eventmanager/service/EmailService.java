@@ -1,19 +1,260 @@
 package com.eventmanager.service;
 
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Envoi asynchrone des notifications par email.
+ * Les notifications sont déposées dans une file bornée (après le commit si l'appel
+ * a lieu dans une transaction) puis envoyées par des workers : chaque lot est
+ * regroupé par destinataire (un récapitulatif par personne) et remis au transport
+ * en un seul appel, donc une seule connexion. Quand la file est pleine, l'appelant
+ * attend au plus offer-timeout puis la notification est rejetée ; les envois en masse
+ * (annulation d'un événement) attendent au contraire qu'une place se libère.
+ */
 @Service
 public class EmailService {
 
+    private static final Logger log = LoggerFactory.getLogger(EmailService.class);
+
+    private final MailTransport transport;
+    private final BlockingQueue<Notification> queue;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final long offerTimeoutNanos;
+    private final ExecutorService workers;
+    private volatile boolean running = true;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    @Autowired
+    public EmailService(MailTransport transport,
+                        @Value("${notification.email.queue-capacity:10000}") int queueCapacity,
+                        @Value("${notification.email.workers:2}") int workerCount,
+                        @Value("${notification.email.batch-size:100}") int batchSize,
+                        @Value("${notification.email.linger:PT0.2S}") Duration linger,
+                        @Value("${notification.email.offer-timeout:PT2S}") Duration offerTimeout) {
+        this.transport = transport;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.lingerNanos = linger.toNanos();
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "email-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::work);
+        }
+    }
+
     public void sendReservationConfirmation(String toEmail, String reservationCode,
                                             String eventTitle, String userName) {
-        // Implémentation d'envoi d'email
-        System.out.printf("Email envoyé à %s: Confirmation de réservation %s pour l'événement %s%n",
-                toEmail, reservationCode, eventTitle);
+        enqueue(toEmail, "Confirmation de réservation " + reservationCode,
+                String.format("Bonjour %s, votre réservation %s pour l'événement %s est confirmée.",
+                        userName, reservationCode, eventTitle));
+    }
+
+    public void sendWaitlistPromotion(String toEmail, String eventTitle, String userName, int places) {
+        enqueue(toEmail, "Des places se sont libérées pour " + eventTitle,
+                String.format("Bonjour %s, %d place(s) vous sont réservées pour l'événement %s. " +
+                        "Confirmez votre réservation avant son expiration.", userName, places, eventTitle));
+    }
+
+    // Envoi en masse depuis une tâche de fond : bloque tant que la file est pleine
+    public void sendEventCancellation(String toEmail, String reservationCode, String eventTitle,
+                                      String userName, String reason) {
+        enqueue(toEmail, "Événement " + eventTitle + " annulé",
+                String.format("Bonjour %s, l'événement %s a été annulé : %s. Votre réservation %s est annulée.",
+                        userName, eventTitle, reason, reservationCode), true);
+    }
+
+    private void enqueue(String toEmail, String subject, String body) {
+        enqueue(toEmail, subject, body, false);
+    }
+
+    // Dans une transaction, la notification n'est déposée qu'après le commit
+    private void enqueue(String toEmail, String subject, String body, boolean waitForRoom) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    offer(new Notification(toEmail, subject, body), waitForRoom);
+                }
+            });
+        } else {
+            offer(new Notification(toEmail, subject, body), waitForRoom);
+        }
+    }
+
+    // Sans waitForRoom, rejetée après offer-timeout ; avec, rejetée seulement à l'arrêt
+    private void offer(Notification notification, boolean waitForRoom) {
+        try {
+            while (running) {
+                if (queue.offer(notification, offerTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                    enqueued.incrementAndGet();
+                    return;
+                }
+                if (!waitForRoom) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejected.incrementAndGet();
+        log.warn("File des emails saturée : notification pour {} rejetée", notification.to);
+    }
+
+    private void work() {
+        List<Notification> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Notification first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Court délai d'accumulation pour regrouper les notifications d'un même destinataire
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Notification next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+                dispatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
     }
 
-    public void sendEventCancellation(String toEmail, String eventTitle, String reason) {
-        System.out.printf("Email envoyé à %s: Événement %s annulé: %s%n",
-                toEmail, eventTitle, reason);
+    private void dispatch(List<Notification> batch) {
+        Map<String, List<Notification>> byRecipient = new LinkedHashMap<>();
+        for (Notification notification : batch) {
+            byRecipient.computeIfAbsent(notification.to, to -> new ArrayList<>()).add(notification);
+        }
+
+        List<EmailMessage> messages = new ArrayList<>(byRecipient.size());
+        byRecipient.forEach((to, notifications) -> messages.add(digest(to, notifications)));
+
+        try {
+            transport.send(messages);
+        } catch (RuntimeException e) {
+            failed.addAndGet(batch.size());
+            log.error("Échec de l'envoi d'un lot de {} emails", messages.size(), e);
+            return;
+        }
+
+        long now = System.nanoTime();
+        for (Notification notification : batch) {
+            long latency = now - notification.enqueuedAt;
+            totalLatencyNanos.addAndGet(latency);
+            maxLatencyNanos.accumulateAndGet(latency, Math::max);
+        }
+        sent.addAndGet(batch.size());
+        batches.incrementAndGet();
+    }
+
+    private EmailMessage digest(String to, List<Notification> notifications) {
+        if (notifications.size() == 1) {
+            Notification single = notifications.get(0);
+            return new EmailMessage(to, single.subject, single.body);
+        }
+        StringBuilder body = new StringBuilder();
+        for (Notification notification : notifications) {
+            body.append("- ").append(notification.subject).append(" : ").append(notification.body).append('\n');
+        }
+        return new EmailMessage(to, notifications.size() + " nouvelles notifications", body.toString());
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getSentCount() {
+        return sent.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    public Map<String, Object> getStatistics() {
+        long delivered = sent.get();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("queueDepth", queue.size());
+        stats.put("enqueued", enqueued.get());
+        stats.put("sent", delivered);
+        stats.put("rejected", rejected.get());
+        stats.put("failed", failed.get());
+        stats.put("batches", batches.get());
+        stats.put("averageLatencyMs", delivered > 0 ? totalLatencyNanos.get() / 1_000_000.0 / delivered : 0.0);
+        stats.put("maxLatencyMs", maxLatencyNanos.get() / 1_000_000.0);
+        return stats;
+    }
+
+    // Arrêt : les workers vident la file avant de s'arrêter
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Notification {
+        private final String to;
+        private final String subject;
+        private final String body;
+        private final long enqueuedAt = System.nanoTime();
+
+        private Notification(String to, String subject, String body) {
+            this.to = to;
+            this.subject = subject;
+            this.body = body;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,186 @@
+package com.eventmanager.service;
+
+import com.eventmanager.dto.CancellationProgressDTO;
+import com.eventmanager.dto.TicketHolderDTO;
+import com.eventmanager.entity.Event;
+import com.eventmanager.enums.ReservationStatus;
+import com.eventmanager.repository.EventRepository;
+import com.eventmanager.repository.ReservationRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Annulation d'un événement : toutes ses réservations sont annulées et les
+ * détenteurs de billets prévenus, en arrière-plan et par tranches.
+ * Chaque tranche est lue par pagination de clé (projection sans entité),
+ * annulée en un seul UPDATE dans sa propre transaction, puis transmise à
+ * EmailService : la mémoire utilisée ne dépend pas du nombre de participants.
+ */
+@Service
+public class EventCancellationJob {
+
+    private static final Logger log = LoggerFactory.getLogger(EventCancellationJob.class);
+
+    private final ReservationRepository reservationRepository;
+    private final EventRepository eventRepository;
+    private final SeatInventory seatInventory;
+    private final SeatHoldService seatHoldService;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Duration progressRetention;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "annulation-evenement");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<Long, Progress> progressByEvent = new ConcurrentHashMap<>();
+
+    public EventCancellationJob(ReservationRepository reservationRepository,
+                                EventRepository eventRepository,
+                                SeatInventory seatInventory,
+                                SeatHoldService seatHoldService,
+                                EmailService emailService,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${reservation.cancellation.chunk-size:500}") int chunkSize,
+                                @Value("${reservation.cancellation.progress-retention:PT1H}") Duration progressRetention) {
+        this.reservationRepository = reservationRepository;
+        this.eventRepository = eventRepository;
+        this.seatInventory = seatInventory;
+        this.seatHoldService = seatHoldService;
+        this.emailService = emailService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.progressRetention = progressRetention;
+    }
+
+    // Lancé une fois le changement de statut validé
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventCancelled(EventCancelledEvent cancelled) {
+        start(cancelled.getEventId(), cancelled.getReason());
+    }
+
+    public void start(Long eventId, String reason) {
+        Progress progress = new Progress(eventId);
+        Progress current = progressByEvent.compute(eventId,
+                (id, previous) -> previous != null && !previous.finished ? previous : progress);
+        if (current == progress) {
+            executor.execute(() -> run(eventId, reason, progress));
+        }
+    }
+
+    public CancellationProgressDTO getProgress(Long eventId) {
+        Progress progress = progressByEvent.get(eventId);
+        return progress != null ? progress.snapshot() : null;
+    }
+
+    // Une annulation terminée reste consultable pendant progress-retention
+    @Scheduled(fixedDelay = 60_000)
+    public void evictFinished() {
+        LocalDateTime limit = LocalDateTime.now().minus(progressRetention);
+        progressByEvent.values().removeIf(progress -> progress.finished && !progress.finishedAt.isAfter(limit));
+    }
+
+    private void run(Long eventId, String reason, Progress progress) {
+        try {
+            String titre = eventRepository.findById(eventId).map(Event::getTitre).orElse("");
+            progress.total = reservationRepository.countActiveReservationsByEventId(eventId);
+
+            long afterId = 0;
+            while (true) {
+                long lastId = afterId;
+                List<TicketHolderDTO> chunk = transactionTemplate.execute(status ->
+                        cancelChunk(eventId, lastId, titre, reason));
+                if (chunk == null || chunk.isEmpty()) {
+                    break;
+                }
+                afterId = chunk.get(chunk.size() - 1).getReservationId();
+                progress.processed += chunk.size();
+                log.info("Annulation de l'événement {} : {}/{} réservations traitées",
+                        eventId, progress.processed, progress.total);
+            }
+        } catch (RuntimeException e) {
+            progress.error = e.getMessage();
+            log.error("Échec de l'annulation des réservations de l'événement {}", eventId, e);
+        } finally {
+            progress.finishedAt = LocalDateTime.now();
+            progress.finished = true;
+        }
+    }
+
+    private List<TicketHolderDTO> cancelChunk(Long eventId, long afterId, String titre, String reason) {
+        List<TicketHolderDTO> holders = reservationRepository.findTicketHoldersAfter(
+                eventId, afterId, PageRequest.of(0, chunkSize));
+        if (holders.isEmpty()) {
+            return holders;
+        }
+
+        // Relu sous verrou : une réservation annulée entre-temps (par l'utilisateur ou
+        // l'expiration de son blocage) a déjà rendu ses places et n'est pas comptée
+        List<Object[]> active = reservationRepository.lockActiveReservations(
+                holders.stream().map(TicketHolderDTO::getReservationId).toList());
+        Set<Long> ids = new HashSet<>(active.size());
+        int places = 0;
+        for (Object[] row : active) {
+            ids.add(((Number) row[0]).longValue());
+            places += ((Number) row[1]).intValue();
+        }
+        if (!ids.isEmpty()) {
+            reservationRepository.updateStatusInBatch(ids, ReservationStatus.ANNULEE,
+                    "Événement annulé le " + LocalDateTime.now());
+            seatInventory.release(eventId, places);
+            ids.forEach(seatHoldService::cancelHold);
+        }
+
+        // Déposés dans la file d'envoi après le commit de la tranche
+        for (TicketHolderDTO holder : holders) {
+            if (ids.contains(holder.getReservationId())) {
+                emailService.sendEventCancellation(holder.getEmail(), holder.getCodeReservation(),
+                        titre, holder.getNomComplet(), reason);
+            }
+        }
+        return holders;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static final class Progress {
+        private final Long eventId;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private volatile long total;
+        private volatile long processed;
+        private volatile boolean finished;
+        private volatile String error;
+        private volatile LocalDateTime finishedAt;
+
+        private Progress(Long eventId) {
+            this.eventId = eventId;
+        }
+
+        private CancellationProgressDTO snapshot() {
+            return new CancellationProgressDTO(eventId, total, processed, finished, error, startedAt, finishedAt);
+        }
+    }
+}
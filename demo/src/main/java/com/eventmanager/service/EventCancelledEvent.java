@@ -0,0 +1,20 @@
+package com.eventmanager.service;
+
+/**
+ * Publié quand un événement passe au statut ANNULE.
+ * Traité après le commit par EventCancellationJob.
+ */
+public class EventCancelledEvent {
+
+    private final Long eventId;
+    private final String reason;
+
+    public EventCancelledEvent(Long eventId, String reason) {
+        this.eventId = eventId;
+        this.reason = reason;
+    }
+
+    public Long getEventId() { return eventId; }
+
+    public String getReason() { return reason; }
+}
@@ -0,0 +1,16 @@
+package com.eventmanager.service;
+
+/**
+ * Publié quand un événement est créé, modifié, change de statut ou est supprimé.
+ * Sert à tenir à jour les structures dérivées du catalogue (index de recherche...).
+ */
+public class EventChangedEvent {
+
+    private final Long eventId;
+
+    public EventChangedEvent(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public Long getEventId() { return eventId; }
+}
@@ -0,0 +1,276 @@
+package com.eventmanager.service;
+
+import com.eventmanager.dto.FacetCountsDTO;
+import com.eventmanager.entity.Event;
+import com.eventmanager.enums.EventCategory;
+import com.eventmanager.enums.EventStatus;
+import com.eventmanager.enums.PriceBand;
+import com.eventmanager.repository.EventRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compteurs de facettes (catégorie, ville, tranche de prix) des événements publiés.
+ * Chaque valeur de facette est un BitSet indexé par l'identifiant de l'événement :
+ * compter les événements restants pour une combinaison de filtres revient à des ET
+ * bit à bit suivis d'un cardinality(), sans requête GROUP BY.
+ */
+@Service
+public class EventFacetIndex implements EventIndex {
+
+    private final EventRepository eventRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final BitSet published = new BitSet();
+    private final Map<EventCategory, BitSet> byCategory = new EnumMap<>(EventCategory.class);
+    private final Map<PriceBand, BitSet> byPriceBand = new EnumMap<>(PriceBand.class);
+    // Clé normalisée (minuscules, sans accents) -> événements ; triée pour filtrer par préfixe
+    private final TreeMap<String, BitSet> byVille = new TreeMap<>();
+    private final Map<String, String> villeLabels = new HashMap<>();
+    // Valeurs indexées de chaque événement, pour retirer ses bits lors d'une modification
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    // Prix par identifiant, lu directement pour les tranches coupées par un filtre de prix
+    private double[] prices = new double[0];
+
+    public EventFacetIndex(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+        for (EventCategory categorie : EventCategory.values()) {
+            byCategory.put(categorie, new BitSet());
+        }
+        for (PriceBand band : PriceBand.values()) {
+            byPriceBand.put(band, new BitSet());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        List<Event> events = eventRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            published.clear();
+            byCategory.values().forEach(BitSet::clear);
+            byPriceBand.values().forEach(BitSet::clear);
+            byVille.clear();
+            villeLabels.clear();
+            entries.clear();
+            prices = new double[0];
+            events.forEach(event -> add(slot(event.getId()), event));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Publication, modification, changement de statut ou suppression d'un événement
+    @Override
+    public void update(Long eventId, Event event) {
+        int slot = slot(eventId);
+        lock.writeLock().lock();
+        try {
+            remove(slot);
+            if (event != null) {
+                add(slot, event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Les événements terminés sortent des facettes sans attendre de modification
+    @Scheduled(fixedDelay = 60_000)
+    public void evictFinished() {
+        LocalDateTime now = LocalDateTime.now();
+        lock.writeLock().lock();
+        try {
+            List<Integer> finished = new ArrayList<>();
+            entries.forEach((slot, entry) -> {
+                if (entry.dateFin != null && !entry.dateFin.isAfter(now)) {
+                    finished.add(slot);
+                }
+            });
+            finished.forEach(this::remove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Compte les événements publiés correspondant aux filtres, ainsi que pour chaque
+     * valeur de facette le nombre d'événements obtenus en la choisissant à la place
+     * du filtre courant sur cette même facette.
+     *
+     * @param restrictTo événements retenus par ailleurs (mot-clé), ou null pour tous
+     */
+    public FacetCountsDTO count(BitSet restrictTo, String ville, EventCategory categorie,
+                                Double prixMin, Double prixMax) {
+        lock.readLock().lock();
+        try {
+            BitSet base = (BitSet) published.clone();
+            if (restrictTo != null) {
+                base.and(restrictTo);
+            }
+            BitSet villeFilter = villeFilter(ville);
+            BitSet categorieFilter = categorie != null ? byCategory.get(categorie) : null;
+            BitSet prixFilter = prixFilter(prixMin, prixMax);
+
+            BitSet matching = and(base, villeFilter, categorieFilter, prixFilter);
+
+            BitSet withoutCategorie = and(base, villeFilter, prixFilter);
+            Map<EventCategory, Integer> parCategorie = new EnumMap<>(EventCategory.class);
+            byCategory.forEach((value, bits) -> parCategorie.put(value, intersectionSize(withoutCategorie, bits)));
+
+            BitSet withoutVille = and(base, categorieFilter, prixFilter);
+            List<Map.Entry<String, Integer>> villes = new ArrayList<>();
+            byVille.forEach((key, bits) -> {
+                int count = intersectionSize(withoutVille, bits);
+                if (count > 0) {
+                    villes.add(Map.entry(villeLabels.get(key), count));
+                }
+            });
+            villes.sort(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                    .thenComparing(Map.Entry.comparingByKey()));
+            Map<String, Integer> parVille = new LinkedHashMap<>();
+            villes.forEach(e -> parVille.put(e.getKey(), e.getValue()));
+
+            BitSet withoutPrix = and(base, villeFilter, categorieFilter);
+            Map<PriceBand, Integer> parTrancheDePrix = new EnumMap<>(PriceBand.class);
+            byPriceBand.forEach((band, bits) -> parTrancheDePrix.put(band, intersectionSize(withoutPrix, bits)));
+
+            return new FacetCountsDTO(matching.cardinality(), parCategorie, parVille, parTrancheDePrix);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(int slot, Event event) {
+        if (event.getStatut() != EventStatus.PUBLIE
+                || (event.getDateFin() != null && !event.getDateFin().isAfter(LocalDateTime.now()))) {
+            return;
+        }
+        String villeKey = SearchNormalizer.normalize(event.getVille());
+        Entry entry = new Entry(event.getCategorie(), villeKey, event.getPrixUnitaire() != null ? event.getPrixUnitaire() : 0,
+                event.getDateFin());
+        entries.put(slot, entry);
+        if (slot >= prices.length) {
+            prices = Arrays.copyOf(prices, Math.max(slot + 1, prices.length * 2));
+        }
+        prices[slot] = entry.prix;
+        published.set(slot);
+        if (entry.categorie != null) {
+            byCategory.get(entry.categorie).set(slot);
+        }
+        byPriceBand.get(PriceBand.of(entry.prix)).set(slot);
+        if (!villeKey.isEmpty()) {
+            byVille.computeIfAbsent(villeKey, k -> new BitSet()).set(slot);
+            villeLabels.putIfAbsent(villeKey, event.getVille().trim());
+        }
+    }
+
+    private void remove(int slot) {
+        Entry entry = entries.remove(slot);
+        if (entry == null) {
+            return;
+        }
+        published.clear(slot);
+        if (entry.categorie != null) {
+            byCategory.get(entry.categorie).clear(slot);
+        }
+        byPriceBand.get(PriceBand.of(entry.prix)).clear(slot);
+        BitSet ville = byVille.get(entry.villeKey);
+        if (ville != null) {
+            ville.clear(slot);
+            if (ville.isEmpty()) {
+                byVille.remove(entry.villeKey);
+                villeLabels.remove(entry.villeKey);
+            }
+        }
+    }
+
+    // Toutes les villes contenant la saisie : "casa" retient "Casablanca", "marseille" "Aix-Marseille"
+    private BitSet villeFilter(String ville) {
+        String saisie = SearchNormalizer.normalize(ville);
+        if (saisie.isEmpty()) {
+            return null;
+        }
+        BitSet union = new BitSet();
+        byVille.forEach((key, bits) -> {
+            if (SearchNormalizer.villeMatches(key, saisie)) {
+                union.or(bits);
+            }
+        });
+        return union;
+    }
+
+    // Les tranches entièrement comprises dans l'intervalle sont reprises telles quelles,
+    // seules les tranches à cheval sont vérifiées événement par événement
+    private BitSet prixFilter(Double prixMin, Double prixMax) {
+        if (prixMin == null && prixMax == null) {
+            return null;
+        }
+        double min = prixMin != null ? prixMin : Double.NEGATIVE_INFINITY;
+        double max = prixMax != null ? prixMax : Double.POSITIVE_INFINITY;
+        BitSet range = new BitSet();
+        byPriceBand.forEach((band, bits) -> {
+            if (band.getMin() >= min && Math.nextDown(band.getMax()) <= max) {
+                range.or(bits);
+            } else if (band.getMax() > min && band.getMin() <= max) {
+                for (int slot = bits.nextSetBit(0); slot >= 0; slot = bits.nextSetBit(slot + 1)) {
+                    if (prices[slot] >= min && prices[slot] <= max) {
+                        range.set(slot);
+                    }
+                }
+            }
+        });
+        return range;
+    }
+
+    private static BitSet and(BitSet base, BitSet... filters) {
+        BitSet result = (BitSet) base.clone();
+        for (BitSet filter : filters) {
+            if (filter != null) {
+                result.and(filter);
+            }
+        }
+        return result;
+    }
+
+    private static int intersectionSize(BitSet a, BitSet b) {
+        BitSet result = (BitSet) a.clone();
+        result.and(b);
+        return result.cardinality();
+    }
+
+    private static int slot(Long eventId) {
+        return Math.toIntExact(eventId);
+    }
+
+    private static final class Entry {
+        private final EventCategory categorie;
+        private final String villeKey;
+        private final double prix;
+        private final LocalDateTime dateFin;
+
+        private Entry(EventCategory categorie, String villeKey, double prix, LocalDateTime dateFin) {
+            this.categorie = categorie;
+            this.villeKey = villeKey;
+            this.prix = prix;
+            this.dateFin = dateFin;
+        }
+    }
+}
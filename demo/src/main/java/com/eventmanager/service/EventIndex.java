@@ -0,0 +1,12 @@
+package com.eventmanager.service;
+
+import com.eventmanager.entity.Event;
+
+/**
+ * Index en mémoire du catalogue, tenu à jour par EventIndexUpdater après chaque commit.
+ */
+public interface EventIndex {
+
+    // Publication, modification ou retrait d'un événement ; event vaut null s'il a été supprimé
+    void update(Long eventId, Event event);
+}
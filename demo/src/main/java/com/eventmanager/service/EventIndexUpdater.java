@@ -0,0 +1,33 @@
+package com.eventmanager.service;
+
+import com.eventmanager.entity.Event;
+import com.eventmanager.repository.EventRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Répercute une modification d'événement sur tous les index (recherche, facettes,
+ * suggestions, intervalles, tendances) une fois la transaction validée : l'événement
+ * est relu une seule fois puis transmis à chacun.
+ */
+@Component
+public class EventIndexUpdater {
+
+    private final EventRepository eventRepository;
+    private final List<EventIndex> indexes;
+
+    public EventIndexUpdater(EventRepository eventRepository, List<EventIndex> indexes) {
+        this.eventRepository = eventRepository;
+        this.indexes = indexes;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent changed) {
+        Event event = eventRepository.findById(changed.getEventId()).orElse(null);
+        for (EventIndex index : indexes) {
+            index.update(changed.getEventId(), event);
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.eventmanager.service;
+
+import com.eventmanager.entity.Event;
+import com.eventmanager.enums.EventStatus;
+import com.eventmanager.repository.EventRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Index des périodes [dateDebut, dateFin] des événements publiés, pour répondre
+ * à « qu'est-ce qui a lieu entre X et Y » sans parcourir la table.
+ *
+ * Arbre d'intervalles implicite : les événements sont rangés dans des tableaux triés
+ * par date de début, et le nœud i (niveau = nombre de 1 de poids faible de i) garde
+ * la plus grande date de fin de son sous-arbre. Une recherche de chevauchement
+ * coûte O(log n + k). Les modifications reconstruisent une copie des tableaux (O(n)),
+ * publiée d'un bloc : les lectures ne prennent aucun verrou.
+ */
+@Service
+public class EventIntervalIndex implements EventIndex {
+
+    // En dessous de ce niveau, un sous-arbre est parcouru linéairement
+    private static final int SCAN_LEVEL = 3;
+
+    private final EventRepository eventRepository;
+
+    private volatile Tree tree = Tree.EMPTY;
+
+    public EventIntervalIndex(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        List<Interval> intervals = new ArrayList<>();
+        for (Event event : eventRepository.findAll()) {
+            Interval interval = Interval.of(event);
+            if (interval != null) {
+                intervals.add(interval);
+            }
+        }
+        intervals.sort(Interval.ORDER);
+        synchronized (this) {
+            tree = Tree.build(intervals);
+        }
+    }
+
+    // Création, modification, changement de statut ou suppression d'un événement
+    @Override
+    public synchronized void update(Long eventId, Event event) {
+        tree = tree.with(eventId, event != null ? Interval.of(event) : null);
+    }
+
+    /**
+     * Événements publiés dont la période chevauche [from, to], bornes comprises.
+     *
+     * @param from début de la plage, ou null pour ne pas borner
+     * @param to fin de la plage, ou null pour ne pas borner
+     * @param ville préfixe de ville (sans tenir compte des accents ni de la casse), ou null
+     * @return les identifiants, par date de début puis par identifiant
+     */
+    public List<Long> overlapping(LocalDateTime from, LocalDateTime to, String ville) {
+        long min = from != null ? toSeconds(from) : Long.MIN_VALUE;
+        long max = to != null ? toSeconds(to) : Long.MAX_VALUE;
+        String villeSaisie = SearchNormalizer.normalize(ville);
+        Tree snapshot = tree;
+        if (min > max || snapshot.size() == 0) {
+            return List.of();
+        }
+        int[] found = snapshot.overlapping(min, max);
+        // Les positions suivent l'ordre des tableaux, donc celui des dates de début
+        Arrays.sort(found);
+        List<Long> ids = new ArrayList<>(found.length);
+        for (int i : found) {
+            if (SearchNormalizer.villeMatches(snapshot.villes[i], villeSaisie)) {
+                ids.add(snapshot.ids[i]);
+            }
+        }
+        return ids;
+    }
+
+    public int size() {
+        return tree.size();
+    }
+
+    private static long toSeconds(LocalDateTime date) {
+        return date.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static final class Interval {
+        private static final Comparator<Interval> ORDER = Comparator.<Interval>comparingLong(i -> i.start)
+                .thenComparingLong(i -> i.id);
+
+        private final long id;
+        private final long start;
+        private final long end;
+        private final String ville;
+
+        private Interval(long id, long start, long end, String ville) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.ville = ville;
+        }
+
+        // Seuls les événements publiés et datés sont indexés ; sans date de fin, l'événement est ponctuel
+        private static Interval of(Event event) {
+            if (event.getStatut() != EventStatus.PUBLIE || event.getDateDebut() == null) {
+                return null;
+            }
+            long start = toSeconds(event.getDateDebut());
+            long end = event.getDateFin() != null ? Math.max(start, toSeconds(event.getDateFin())) : start;
+            return new Interval(event.getId(), start, end, SearchNormalizer.normalize(event.getVille()));
+        }
+    }
+
+    private static final class Tree {
+        private static final Tree EMPTY = build(List.of());
+
+        private final long[] ids;
+        private final long[] starts;
+        private final long[] ends;
+        private final String[] villes;
+        // Plus grande date de fin du sous-arbre de chaque nœud
+        private final long[] maxEnds;
+        private final int rootLevel;
+
+        private Tree(long[] ids, long[] starts, long[] ends, String[] villes) {
+            this.ids = ids;
+            this.starts = starts;
+            this.ends = ends;
+            this.villes = villes;
+            this.maxEnds = new long[ids.length];
+            this.rootLevel = index();
+        }
+
+        // Intervalles déjà triés par date de début
+        private static Tree build(List<Interval> intervals) {
+            int n = intervals.size();
+            long[] ids = new long[n];
+            long[] starts = new long[n];
+            long[] ends = new long[n];
+            String[] villes = new String[n];
+            for (int i = 0; i < n; i++) {
+                Interval interval = intervals.get(i);
+                ids[i] = interval.id;
+                starts[i] = interval.start;
+                ends[i] = interval.end;
+                villes[i] = interval.ville;
+            }
+            return new Tree(ids, starts, ends, villes);
+        }
+
+        private int size() {
+            return ids.length;
+        }
+
+        // Copie sans l'ancienne position de l'événement, avec la nouvelle s'il reste indexé
+        private Tree with(long eventId, Interval added) {
+            int n = ids.length;
+            int removed = -1;
+            for (int i = 0; i < n && removed < 0; i++) {
+                if (ids[i] == eventId) {
+                    removed = i;
+                }
+            }
+            if (removed < 0 && added == null) {
+                return this;
+            }
+            int size = n - (removed >= 0 ? 1 : 0) + (added != null ? 1 : 0);
+            long[] newIds = new long[size];
+            long[] newStarts = new long[size];
+            long[] newEnds = new long[size];
+            String[] newVilles = new String[size];
+            // Position d'insertion comptée dans la copie, donc sans l'ancienne position
+            int insertAt = added != null ? insertionPoint(added) : size;
+            if (removed >= 0 && removed < insertAt) {
+                insertAt--;
+            }
+            int to = 0;
+            for (int i = 0; i <= n; i++) {
+                if (to == insertAt && added != null) {
+                    newIds[to] = added.id;
+                    newStarts[to] = added.start;
+                    newEnds[to] = added.end;
+                    newVilles[to] = added.ville;
+                    to++;
+                }
+                if (i < n && i != removed) {
+                    newIds[to] = ids[i];
+                    newStarts[to] = starts[i];
+                    newEnds[to] = ends[i];
+                    newVilles[to] = villes[i];
+                    to++;
+                }
+            }
+            return new Tree(newIds, newStarts, newEnds, newVilles);
+        }
+
+        // Nombre d'intervalles rangés avant (start, id) dans les tableaux actuels
+        private int insertionPoint(Interval added) {
+            int low = 0;
+            int high = ids.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] < added.start || (starts[mid] == added.start && ids[mid] < added.id)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        // Calcule maxEnds niveau par niveau et renvoie le niveau de la racine
+        private int index() {
+            int n = ids.length;
+            if (n == 0) {
+                return -1;
+            }
+            int lastIndex = 0;
+            for (int i = 0; i < n; i += 2) {
+                lastIndex = i;
+                maxEnds[i] = ends[i];
+            }
+            // Plus grande fin du dernier nœud existant, utilisée pour les fils absents (au-delà de n)
+            long last = maxEnds[lastIndex];
+            int level = 1;
+            for (; 1 << level <= n; level++) {
+                int half = 1 << (level - 1);
+                for (int i = (half << 1) - 1; i < n; i += half << 2) {
+                    long left = maxEnds[i - half];
+                    long right = i + half < n ? maxEnds[i + half] : last;
+                    maxEnds[i] = Math.max(ends[i], Math.max(left, right));
+                }
+                lastIndex = ((lastIndex >> level) & 1) != 0 ? lastIndex - half : lastIndex + half;
+                if (lastIndex < n && maxEnds[lastIndex] > last) {
+                    last = maxEnds[lastIndex];
+                }
+            }
+            return level - 1;
+        }
+
+        // Positions des intervalles tels que start <= max et end >= min
+        private int[] overlapping(long min, long max) {
+            int n = ids.length;
+            int[] found = new int[16];
+            int count = 0;
+            // Pile de (nœud, niveau, fils gauche déjà traité)
+            int[] nodes = new int[64];
+            int[] levels = new int[64];
+            boolean[] leftDone = new boolean[64];
+            int top = 0;
+            nodes[0] = (1 << rootLevel) - 1;
+            levels[0] = rootLevel;
+            top++;
+            while (top > 0) {
+                top--;
+                int x = nodes[top];
+                int level = levels[top];
+                boolean visited = leftDone[top];
+                if (level <= SCAN_LEVEL) {
+                    int first = x >> level << level;
+                    int end = Math.min(n, first + (1 << (level + 1)) - 1);
+                    for (int i = first; i < end && starts[i] <= max; i++) {
+                        if (ends[i] >= min) {
+                            if (count == found.length) {
+                                found = Arrays.copyOf(found, count * 2);
+                            }
+                            found[count++] = i;
+                        }
+                    }
+                } else if (!visited) {
+                    int left = x - (1 << (level - 1));
+                    nodes[top] = x;
+                    levels[top] = level;
+                    leftDone[top] = true;
+                    top++;
+                    // Un fils absent (au-delà de n) est exploré : ses descendants existants y sont rangés
+                    if (left >= n || maxEnds[left] >= min) {
+                        nodes[top] = left;
+                        levels[top] = level - 1;
+                        leftDone[top] = false;
+                        top++;
+                    }
+                } else if (x < n && starts[x] <= max) {
+                    if (ends[x] >= min) {
+                        if (count == found.length) {
+                            found = Arrays.copyOf(found, count * 2);
+                        }
+                        found[count++] = x;
+                    }
+                    nodes[top] = x + (1 << (level - 1));
+                    levels[top] = level - 1;
+                    leftDone[top] = false;
+                    top++;
+                }
+            }
+            return Arrays.copyOf(found, count);
+        }
+    }
+}
@@ -0,0 +1,457 @@
+package com.eventmanager.service;
+
+import com.eventmanager.entity.Event;
+import com.eventmanager.enums.EventCategory;
+import com.eventmanager.enums.EventStatus;
+import com.eventmanager.repository.EventRepository;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.StopFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.fr.FrenchAnalyzer;
+import org.apache.lucene.analysis.fr.FrenchLightStemFilter;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.util.ElisionFilter;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.DoublePoint;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.WildcardQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index plein texte du catalogue (Lucene embarqué, sur disque) sur titre,
+ * description, lieu et ville, avec analyse française et suppression des accents.
+ * Reconstruit au démarrage (la base H2 est recréée à chaque lancement) puis tenu
+ * à jour après chaque commit via EventChangedEvent. Le catalogue est parcouru par
+ * fenêtres avec searchAfter, sans limite de résultats et sans relancer la recherche
+ * depuis le début à chaque fenêtre. Les mises à jour sont visibles
+ * tout de suite (lecteur quasi temps réel) et écrites sur disque par commitPending,
+ * périodiquement et à l'arrêt. Chaque instance a son propre répertoire, créé sous
+ * search.index.directory et supprimé à l'arrêt : deux contextes sur la même machine
+ * (tests, second lancement) ne se disputent pas le verrou de l'index.
+ */
+@Service
+public class EventSearchIndex implements EventIndex {
+
+    private static final String ID = "id";
+    private static final String VILLE = "ville";
+    private static final String VILLE_KEY = "villeKey";
+    private static final String CATEGORIE = "categorie";
+    private static final String STATUT = "statut";
+    private static final String PRIX = "prix";
+    private static final String DATE_DEBUT = "dateDebut";
+    private static final String DATE_FIN = "dateFin";
+
+    // Curseurs searchAfter conservés (fenêtres suivantes des recherches récentes)
+    private static final int MAX_CURSORS = 256;
+
+    private static final Sort BY_DATE_DEBUT = new Sort(new SortField(DATE_DEBUT, SortField.Type.LONG));
+
+    // Champs interrogés par mot-clé et poids de chacun dans le classement
+    private static final Map<String, Float> TEXT_FIELDS = new LinkedHashMap<>();
+
+    static {
+        TEXT_FIELDS.put("titre", 3.0f);
+        TEXT_FIELDS.put("lieu", 1.5f);
+        TEXT_FIELDS.put(VILLE, 1.5f);
+        TEXT_FIELDS.put("description", 1.0f);
+    }
+
+    private final EventRepository eventRepository;
+    private final int batchSize;
+    private final Analyzer analyzer = new FrenchFoldingAnalyzer();
+    private final Directory directory;
+    private final Path indexPath;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    // (version du lecteur, filtres, position) -> dernier résultat de la fenêtre précédente
+    private final Map<List<Object>, ScoreDoc> cursors = Collections.synchronizedMap(
+            new LinkedHashMap<List<Object>, ScoreDoc>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<List<Object>, ScoreDoc> eldest) {
+                    return size() > MAX_CURSORS;
+                }
+            });
+
+    public EventSearchIndex(EventRepository eventRepository,
+                            @Value("${search.index.directory:}") String indexDirectory,
+                            @Value("${search.batch-size:1000}") int batchSize) {
+        this.eventRepository = eventRepository;
+        this.batchSize = batchSize;
+        try {
+            this.indexPath = indexDirectory.isBlank() ? null
+                    : Files.createTempDirectory(Files.createDirectories(Path.of(indexDirectory)), "search-index-");
+            this.directory = indexPath == null ? new ByteBuffersDirectory() : FSDirectory.open(indexPath);
+            IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE);
+            this.writer = new IndexWriter(directory, config);
+            this.searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossible d'ouvrir l'index de recherche", e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        try {
+            writer.deleteAll();
+            for (Event event : eventRepository.findAll()) {
+                writer.addDocument(toDocument(event));
+            }
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Échec de la construction de l'index de recherche", e);
+        }
+    }
+
+    // Mise à jour incrémentale, une fois la modification validée
+    @Override
+    public void update(Long eventId, Event event) {
+        if (event != null) {
+            index(event);
+        } else {
+            remove(eventId);
+        }
+    }
+
+    public void index(Event event) {
+        try {
+            writer.updateDocument(new Term(ID, String.valueOf(event.getId())), toDocument(event));
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Échec de l'indexation de l'événement " + event.getId(), e);
+        }
+    }
+
+    public void remove(Long eventId) {
+        try {
+            writer.deleteDocuments(new Term(ID, String.valueOf(eventId)));
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Échec de la suppression de l'événement " + eventId + " de l'index", e);
+        }
+    }
+
+    // Écrit sur disque les mises à jour incrémentales en attente
+    @Scheduled(fixedDelayString = "${search.index.commit-interval-ms:30000}")
+    public void commitPending() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Échec de l'écriture de l'index de recherche", e);
+        }
+    }
+
+    /**
+     * Recherche les événements publiés et non terminés. Avec un mot-clé, les résultats
+     * sont classés par pertinence ; sans mot-clé, par date de début. Tous les résultats
+     * sont rendus, lus par lots de batch-size avec searchAfter.
+     *
+     * @return les identifiants des événements, dans l'ordre du classement
+     */
+    public List<Long> search(String keyword, String ville, EventCategory categorie,
+                             Double prixMin, Double prixMax) {
+        SearchQuery search = query(keyword, ville, categorie, prixMin, prixMax);
+        return execute(search.query, search.byRelevance);
+    }
+
+    /**
+     * Fenêtre [offset, offset + limit) de la recherche, dans le même ordre que search.
+     * La fenêtre qui suit une fenêtre déjà servie reprend après son dernier résultat
+     * (searchAfter) ; sinon les offset + limit premiers résultats sont classés.
+     */
+    public List<Long> search(String keyword, String ville, EventCategory categorie,
+                             Double prixMin, Double prixMax, int offset, int limit) {
+        SearchQuery search = query(keyword, ville, categorie, prixMin, prixMax);
+        Sort sort = search.byRelevance ? null : BY_DATE_DEBUT;
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            long version = ((DirectoryReader) searcher.getIndexReader()).getVersion();
+            ScoreDoc after = offset == 0 ? null
+                    : cursors.get(cursorKey(version, keyword, ville, categorie, prixMin, prixMax, offset));
+
+            ScoreDoc[] page;
+            if (after != null) {
+                page = (sort == null
+                        ? searcher.searchAfter(after, search.query, limit)
+                        : searcher.searchAfter(after, search.query, limit, sort)).scoreDocs;
+            } else {
+                ScoreDoc[] top = (sort == null
+                        ? searcher.search(search.query, offset + limit)
+                        : searcher.search(search.query, offset + limit, sort)).scoreDocs;
+                page = top.length > offset ? Arrays.copyOfRange(top, offset, top.length) : new ScoreDoc[0];
+            }
+            if (page.length == limit) {
+                cursors.put(cursorKey(version, keyword, ville, categorie, prixMin, prixMax, offset + limit),
+                        page[page.length - 1]);
+            }
+            return ids(searcher, page);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Échec de la recherche", e);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    // Nombre exact de résultats, sans les lire
+    public int count(String keyword, String ville, EventCategory categorie, Double prixMin, Double prixMax) {
+        Query query = query(keyword, ville, categorie, prixMin, prixMax).query;
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            return searcher.count(query);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Échec de la recherche", e);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    private SearchQuery query(String keyword, String ville, EventCategory categorie,
+                              Double prixMin, Double prixMax) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        boolean scored = false;
+
+        for (String term : analyze(keyword)) {
+            BooleanQuery.Builder anyField = new BooleanQuery.Builder();
+            TEXT_FIELDS.forEach((field, boost) -> {
+                anyField.add(new BoostQuery(new TermQuery(new Term(field, term)), boost), BooleanClause.Occur.SHOULD);
+                anyField.add(new BoostQuery(new PrefixQuery(new Term(field, term)), boost / 2), BooleanClause.Occur.SHOULD);
+            });
+            query.add(anyField.build(), BooleanClause.Occur.MUST);
+            scored = true;
+        }
+        // Même règle que les facettes (SearchNormalizer.villeMatches) : la ville contient la saisie
+        String villeSaisie = SearchNormalizer.normalize(ville);
+        if (!villeSaisie.isEmpty()) {
+            query.add(new WildcardQuery(new Term(VILLE_KEY, "*" + escapeWildcards(villeSaisie) + "*")),
+                    BooleanClause.Occur.FILTER);
+        }
+        if (categorie != null) {
+            query.add(new TermQuery(new Term(CATEGORIE, categorie.name())), BooleanClause.Occur.FILTER);
+        }
+        if (prixMin != null || prixMax != null) {
+            query.add(DoublePoint.newRangeQuery(PRIX,
+                    prixMin != null ? prixMin : Double.NEGATIVE_INFINITY,
+                    prixMax != null ? prixMax : Double.POSITIVE_INFINITY), BooleanClause.Occur.FILTER);
+        }
+        query.add(new TermQuery(new Term(STATUT, EventStatus.PUBLIE.name())), BooleanClause.Occur.FILTER);
+        query.add(LongPoint.newRangeQuery(DATE_FIN, toMillis(LocalDateTime.now()) + 1, Long.MAX_VALUE),
+                BooleanClause.Occur.FILTER);
+        if (!scored) {
+            query.add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST);
+        }
+        return new SearchQuery(query.build(), scored);
+    }
+
+    private List<Long> execute(Query query, boolean byRelevance) {
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            List<Long> ids = new ArrayList<>();
+            ScoreDoc after = null;
+            ScoreDoc[] batch;
+            do {
+                TopDocs topDocs = byRelevance
+                        ? searcher.searchAfter(after, query, batchSize)
+                        : searcher.searchAfter(after, query, batchSize, BY_DATE_DEBUT);
+                batch = topDocs.scoreDocs;
+                ids.addAll(ids(searcher, batch));
+                if (batch.length > 0) {
+                    after = batch[batch.length - 1];
+                }
+            } while (batch.length == batchSize);
+            return ids;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Échec de la recherche", e);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    private static List<Long> ids(IndexSearcher searcher, ScoreDoc[] scoreDocs) throws IOException {
+        StoredFields storedFields = searcher.storedFields();
+        List<Long> ids = new ArrayList<>(scoreDocs.length);
+        for (ScoreDoc scoreDoc : scoreDocs) {
+            ids.add(Long.valueOf(storedFields.document(scoreDoc.doc).get(ID)));
+        }
+        return ids;
+    }
+
+    private void release(IndexSearcher searcher) {
+        if (searcher != null) {
+            try {
+                searcherManager.release(searcher);
+            } catch (IOException ignored) {
+                // le lecteur sera fermé avec l'index
+            }
+        }
+    }
+
+    // Une modification de l'index change la version du lecteur : les anciens curseurs ne servent plus
+    private static List<Object> cursorKey(long version, String keyword, String ville, EventCategory categorie,
+                                          Double prixMin, Double prixMax, int offset) {
+        return Arrays.asList(version, keyword, ville, categorie, prixMin, prixMax, offset);
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+        try (TokenStream stream = analyzer.tokenStream("titre", text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    private Document toDocument(Event event) {
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(event.getId()), Field.Store.YES));
+        document.add(new TextField("titre", nullToEmpty(event.getTitre()), Field.Store.NO));
+        document.add(new TextField("description", nullToEmpty(event.getDescription()), Field.Store.NO));
+        document.add(new TextField("lieu", nullToEmpty(event.getLieu()), Field.Store.NO));
+        document.add(new TextField(VILLE, nullToEmpty(event.getVille()), Field.Store.NO));
+        String villeKey = SearchNormalizer.normalize(event.getVille());
+        if (!villeKey.isEmpty()) {
+            document.add(new StringField(VILLE_KEY, villeKey, Field.Store.NO));
+        }
+        if (event.getCategorie() != null) {
+            document.add(new StringField(CATEGORIE, event.getCategorie().name(), Field.Store.NO));
+        }
+        if (event.getStatut() != null) {
+            document.add(new StringField(STATUT, event.getStatut().name(), Field.Store.NO));
+        }
+        if (event.getPrixUnitaire() != null) {
+            document.add(new DoublePoint(PRIX, event.getPrixUnitaire()));
+        }
+        if (event.getDateFin() != null) {
+            document.add(new LongPoint(DATE_FIN, toMillis(event.getDateFin())));
+        }
+        document.add(new NumericDocValuesField(DATE_DEBUT,
+                event.getDateDebut() != null ? toMillis(event.getDateDebut()) : Long.MAX_VALUE));
+        return document;
+    }
+
+    // La saisie est cherchée telle quelle : * et ? ne sont pas des jokers
+    private static String escapeWildcards(String text) {
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (char c : text.toCharArray()) {
+            if (c == WildcardQuery.WILDCARD_STRING || c == WildcardQuery.WILDCARD_CHAR || c == WildcardQuery.WILDCARD_ESCAPE) {
+                escaped.append(WildcardQuery.WILDCARD_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        commitPending();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+        if (indexPath != null) {
+            FileSystemUtils.deleteRecursively(indexPath);
+        }
+    }
+
+    private static final class SearchQuery {
+        private final Query query;
+        private final boolean byRelevance;
+
+        private SearchQuery(Query query, boolean byRelevance) {
+            this.query = query;
+            this.byRelevance = byRelevance;
+        }
+    }
+
+    // Élisions (l', d'...), minuscules, mots vides, suppression des accents puis racinisation légère
+    private static final class FrenchFoldingAnalyzer extends Analyzer {
+
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer source = new StandardTokenizer();
+            TokenStream result = new ElisionFilter(source, FrenchAnalyzer.DEFAULT_ARTICLES);
+            result = new LowerCaseFilter(result);
+            result = new StopFilter(result, FrenchAnalyzer.getDefaultStopSet());
+            result = new ASCIIFoldingFilter(result);
+            result = new FrenchLightStemFilter(result);
+            return new TokenStreamComponents(source, result);
+        }
+
+        @Override
+        protected TokenStream normalize(String fieldName, TokenStream in) {
+            return new ASCIIFoldingFilter(new LowerCaseFilter(in));
+        }
+    }
+}
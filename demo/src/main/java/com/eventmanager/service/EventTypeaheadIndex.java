@@ -0,0 +1,221 @@
+package com.eventmanager.service;
+
+import com.eventmanager.entity.Event;
+import com.eventmanager.enums.EventStatus;
+import com.eventmanager.repository.EventRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Suggestions de saisie pour les titres et les villes des événements publiés.
+ * Les clés normalisées (minuscules, sans accents) sont rangées dans des tableaux
+ * triés : une suggestion est une recherche dichotomique suivie d'un court parcours.
+ * Les tableaux sont remplacés à chaque modification d'un événement (EventChangedEvent),
+ * sans relire le catalogue : seules les entrées de l'événement concerné changent.
+ */
+@Service
+public class EventTypeaheadIndex implements EventIndex {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final EventRepository eventRepository;
+
+    // Villes des événements publiés : clé normalisée -> libellé et nombre d'événements
+    private final Map<String, City> cities = new HashMap<>();
+    private final Map<Long, String> cityKeyByEvent = new HashMap<>();
+
+    private volatile PrefixTable titles = PrefixTable.EMPTY;
+    private volatile PrefixTable villes = PrefixTable.EMPTY;
+
+    public EventTypeaheadIndex(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        cities.clear();
+        cityKeyByEvent.clear();
+        List<Row> titleRows = new ArrayList<>();
+        for (Event event : eventRepository.findAll()) {
+            if (isSuggestable(event)) {
+                titleRows.addAll(titleRows(event));
+                addCity(event);
+            }
+        }
+        titles = PrefixTable.of(titleRows);
+        villes = cityTable();
+    }
+
+    // Publication, modification ou retrait d'un événement
+    @Override
+    public synchronized void update(Long eventId, Event event) {
+        boolean suggestable = event != null && isSuggestable(event);
+        titles = titles.replace(eventId, suggestable ? titleRows(event) : List.of());
+
+        String previousCity = cityKeyByEvent.get(eventId);
+        String newCity = suggestable ? SearchNormalizer.normalize(event.getVille()) : null;
+        if (previousCity == null ? newCity != null : !previousCity.equals(newCity)) {
+            removeCity(eventId);
+            if (suggestable) {
+                addCity(event);
+            }
+            villes = cityTable();
+        }
+    }
+
+    public List<String> suggestTitles(String prefix, int limit) {
+        return titles.lookup(SearchNormalizer.normalize(prefix), limit);
+    }
+
+    public List<String> suggestVilles(String prefix, int limit) {
+        return villes.lookup(SearchNormalizer.normalize(prefix), limit);
+    }
+
+    private boolean isSuggestable(Event event) {
+        return event.getStatut() == EventStatus.PUBLIE
+                && (event.getDateFin() == null || event.getDateFin().isAfter(LocalDateTime.now()));
+    }
+
+    // Une clé par début de mot : "musi" trouve "Fête de la musique"
+    private List<Row> titleRows(Event event) {
+        String[] words = SEPARATORS.split(SearchNormalizer.normalize(event.getTitre()));
+        List<Row> rows = new ArrayList<>(words.length);
+        for (int i = 0; i < words.length; i++) {
+            if (!words[i].isEmpty()) {
+                rows.add(new Row(String.join(" ", Arrays.copyOfRange(words, i, words.length)),
+                        event.getId(), event.getTitre()));
+            }
+        }
+        return rows;
+    }
+
+    private void addCity(Event event) {
+        String key = SearchNormalizer.normalize(event.getVille());
+        if (key.isEmpty()) {
+            return;
+        }
+        cityKeyByEvent.put(event.getId(), key);
+        cities.computeIfAbsent(key, k -> new City(event.getVille())).count++;
+    }
+
+    private void removeCity(Long eventId) {
+        String key = cityKeyByEvent.remove(eventId);
+        if (key != null) {
+            City city = cities.get(key);
+            if (city != null && --city.count == 0) {
+                cities.remove(key);
+            }
+        }
+    }
+
+    private PrefixTable cityTable() {
+        List<Row> rows = new ArrayList<>(cities.size());
+        cities.forEach((key, city) -> rows.add(new Row(key, 0, city.label)));
+        return PrefixTable.of(rows);
+    }
+
+    private static final class City {
+        private final String label;
+        private int count;
+
+        private City(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final class Row {
+        private final String key;
+        private final long id;
+        private final String label;
+
+        private Row(String key, long id, String label) {
+            this.key = key;
+            this.id = id;
+            this.label = label;
+        }
+    }
+
+    // Tableau trié et immuable de clés ; chaque modification produit un nouveau tableau
+    private static final class PrefixTable {
+
+        private static final Comparator<Row> ORDER =
+                Comparator.comparing((Row row) -> row.key).thenComparingLong(row -> row.id);
+        private static final PrefixTable EMPTY = new PrefixTable(new Row[0]);
+
+        private final Row[] rows;
+
+        private PrefixTable(Row[] rows) {
+            this.rows = rows;
+        }
+
+        private static PrefixTable of(List<Row> rows) {
+            Row[] sorted = rows.toArray(new Row[0]);
+            Arrays.sort(sorted, ORDER);
+            return new PrefixTable(sorted);
+        }
+
+        // Retire les entrées de l'événement puis fusionne les nouvelles, en O(n)
+        private PrefixTable replace(long id, List<Row> added) {
+            Row[] incoming = added.toArray(new Row[0]);
+            Arrays.sort(incoming, ORDER);
+            Row[] merged = new Row[rows.length + incoming.length];
+            int size = 0;
+            int next = 0;
+            for (Row row : rows) {
+                if (row.id == id) {
+                    continue;
+                }
+                while (next < incoming.length && ORDER.compare(incoming[next], row) < 0) {
+                    merged[size++] = incoming[next++];
+                }
+                merged[size++] = row;
+            }
+            while (next < incoming.length) {
+                merged[size++] = incoming[next++];
+            }
+            return new PrefixTable(Arrays.copyOf(merged, size));
+        }
+
+        private List<String> lookup(String prefix, int limit) {
+            if (prefix.isEmpty() || limit <= 0) {
+                return List.of();
+            }
+            Set<String> labels = new LinkedHashSet<>();
+            for (int i = lowerBound(prefix); i < rows.length && labels.size() < limit; i++) {
+                if (!rows[i].key.startsWith(prefix)) {
+                    break;
+                }
+                labels.add(rows[i].label);
+            }
+            return new ArrayList<>(labels);
+        }
+
+        private int lowerBound(String prefix) {
+            int low = 0;
+            int high = rows.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (rows[mid].key.compareTo(prefix) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.eventmanager.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Statistiques du cache de second niveau d'Hibernate, par région (voir application.conf),
+ * et nombre de requêtes SQL préparées. Valeurs à zéro hors du profil stats.
+ */
+@Service
+public class HibernateCacheStatistics {
+
+    // Régions des entités User et Event
+    public static final List<String> ENTITY_REGIONS = List.of("entity-users", "entity-events");
+
+    // Régions du cache de requêtes
+    public static final List<String> QUERY_REGIONS = List.of(
+            "query-user-by-email", "query-upcoming-events", "query-event-counts");
+
+    private final Statistics statistics;
+
+    public HibernateCacheStatistics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    // Par région : hitRate, hits, misses, puts, size
+    public Map<String, Map<String, Object>> getStatistics() {
+        Map<String, Map<String, Object>> regions = new LinkedHashMap<>();
+        for (String region : ENTITY_REGIONS) {
+            regions.put(region, values(statistics.getDomainDataRegionStatistics(region)));
+        }
+        for (String region : QUERY_REGIONS) {
+            CacheRegionStatistics stats = statistics.getQueryRegionStatistics(region);
+            if (stats != null) {
+                regions.put(region, values(stats));
+            }
+        }
+        return regions;
+    }
+
+    // Requêtes SQL préparées depuis le démarrage (ou la dernière remise à zéro)
+    public long getStatementCount() {
+        return statistics.getPrepareStatementCount();
+    }
+
+    public void clear() {
+        statistics.clear();
+    }
+
+    private static Map<String, Object> values(CacheRegionStatistics stats) {
+        long hits = stats.getHitCount();
+        long misses = stats.getMissCount();
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("hitRate", hits + misses == 0 ? 0.0 : Math.round(hits * 1000.0 / (hits + misses)) / 1000.0);
+        values.put("hits", hits);
+        values.put("misses", misses);
+        values.put("puts", stats.getPutCount());
+        values.put("size", stats.getElementCountInMemory());
+        return values;
+    }
+}
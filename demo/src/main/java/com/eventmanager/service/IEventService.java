@@ -1,10 +1,14 @@
 package com.eventmanager.service;
 
+import com.eventmanager.dto.CursorPage;
+import com.eventmanager.dto.EventDTO;
+import com.eventmanager.dto.FacetCountsDTO;
 import com.eventmanager.entity.Event;
 import com.eventmanager.enums.EventCategory;
 import com.eventmanager.enums.EventStatus;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -18,6 +22,8 @@ public interface IEventService {
 
     List<Event> getAllEvents();
 
+    CursorPage<Event> getAllEvents(String cursor, Integer limit);
+
     List<Event> getUpcomingEvents();
 
     List<Event> getEventsByOrganizer(Long organizerId);
@@ -26,6 +32,7 @@ public interface IEventService {
 
     List<Event> getEventsByStatus(EventStatus status);
 
+    // Événements publiés dont la période chevauche [startDate, endDate] ; chaque critère null est ignoré
     List<Event> searchEvents(String keyword, String location,
                              LocalDateTime startDate, LocalDateTime endDate);
 
@@ -37,6 +44,8 @@ public interface IEventService {
 
     int getAvailableSeats(Event event); // 🔹 accept Event directement
 
+    Map<Long, Integer> getAvailableSeats(Collection<Long> eventIds);
+
     Map<String, Object> getEventStatistics(Long eventId);
 
     List<Event> getFeaturedEvents(int limit);
@@ -50,8 +59,23 @@ public interface IEventService {
 
     List<Event> getAvailableEvents();
 
+    CursorPage<Event> getAvailableEvents(String cursor, Integer limit);
+
     List<Event> getPopularEvents(int limit);
 
     List<Event> searchEventsByFilters(String keyword, String ville,
                                       EventCategory categorie, Double prixMin, Double prixMax);
+
+    List<EventDTO> searchEventsByFilters(String keyword, String ville, EventCategory categorie,
+                                         Double prixMin, Double prixMax, int page, int pageSize);
+
+    List<EventDTO> getFeaturedEventCards(int limit);
+
+    EventDTO getEventCard(Long eventId);
+
+    int countEventsByFilters(String keyword, String ville,
+                             EventCategory categorie, Double prixMin, Double prixMax);
+
+    FacetCountsDTO getEventFacets(String keyword, String ville,
+                                  EventCategory categorie, Double prixMin, Double prixMax);
 }
@@ -1,7 +1,9 @@
 package com.eventmanager.service;
 
+import com.eventmanager.dto.CursorPage;
 import com.eventmanager.entity.Reservation;
 import com.eventmanager.enums.ReservationStatus;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -9,16 +11,24 @@ public interface IReservationService {
 
     Reservation createReservation(Long userId, Long eventId, int nombrePlaces);
 
+    List<Reservation> createReservations(Long userId, Map<Long, Integer> placesParEvenement);
+
     Reservation updateReservationStatus(Long reservationId, ReservationStatus status);
 
     Reservation getReservationById(Long reservationId);
 
+    Reservation getReservationByCode(String codeReservation);
+
     List<Reservation> getReservationsByUser(Long userId);
 
+    CursorPage<Reservation> getReservationsByUser(Long userId, String cursor, Integer limit);
+
     List<Reservation> getReservationsByEvent(Long eventId);
 
     List<Reservation> getReservationsByStatus(ReservationStatus status);
 
+    CursorPage<Reservation> getReservationsByStatus(ReservationStatus status, String cursor, Integer limit);
+
     void cancelReservation(Long reservationId);
 
     Reservation confirmReservation(Long reservationId);
@@ -27,6 +37,8 @@ public interface IReservationService {
 
     int getAvailableSeats(Long eventId);
 
+    Map<Long, Integer> getAvailableSeats(Collection<Long> eventIds);
+
     double calculateReservationAmount(Long reservationId);
 
     List<Reservation> getUserReservationsWithDetails(Long userId);
@@ -35,5 +47,9 @@ public interface IReservationService {
 
     List<Reservation> searchReservations(String keyword);
 
+    CursorPage<Reservation> searchReservations(String keyword, String cursor, Integer limit);
+
     Reservation updateReservation(Long reservationId, int newNombrePlaces);
+
+    int joinWaitlist(Long userId, Long eventId, int nombrePlaces);
 }
\ No newline at end of file
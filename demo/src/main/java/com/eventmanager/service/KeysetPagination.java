@@ -0,0 +1,106 @@
+package com.eventmanager.service;
+
+import com.eventmanager.dto.CursorPage;
+import com.eventmanager.exception.BusinessException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Pagination par clé (keyset) : au lieu d'un OFFSET, chaque page reprend après
+ * le dernier couple (date, id) renvoyé, ce qui reste une simple lecture d'index
+ * quelle que soit la profondeur. Le curseur transmis au client encode ce couple.
+ */
+@Component
+public class KeysetPagination {
+
+    // Bornes utilisées pour la première page
+    public static final LocalDateTime FIRST_DATE = LocalDateTime.of(1900, 1, 1, 0, 0);
+    public static final LocalDateTime LAST_DATE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private static final String SEPARATOR = "_";
+
+    public enum SortKey { DATE, ID }
+
+    private final int defaultSize;
+    private final int maxSize;
+    private final SortKey eventSort;
+    private final SortKey reservationSort;
+
+    public KeysetPagination(@Value("${pagination.default-size:50}") int defaultSize,
+                            @Value("${pagination.max-size:500}") int maxSize,
+                            @Value("${pagination.events.sort:DATE}") SortKey eventSort,
+                            @Value("${pagination.reservations.sort:DATE}") SortKey reservationSort) {
+        this.defaultSize = defaultSize;
+        this.maxSize = maxSize;
+        this.eventSort = eventSort;
+        this.reservationSort = reservationSort;
+    }
+
+    public SortKey getEventSort() { return eventSort; }
+
+    public SortKey getReservationSort() { return reservationSort; }
+
+    public int limit(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return defaultSize;
+        }
+        return Math.min(requested, maxSize);
+    }
+
+    // Une ligne de plus que la page : sa présence indique qu'il existe une page suivante
+    public Pageable probe(int limit) {
+        return PageRequest.ofSize(limit + 1);
+    }
+
+    public Cursor decode(String cursor, boolean descending) {
+        if (cursor == null || cursor.isBlank()) {
+            return descending
+                    ? new Cursor(LAST_DATE, Long.MAX_VALUE)
+                    : new Cursor(FIRST_DATE, 0L);
+        }
+        try {
+            int separator = cursor.indexOf(SEPARATOR);
+            if (separator < 0) {
+                return new Cursor(descending ? LAST_DATE : FIRST_DATE, Long.parseLong(cursor));
+            }
+            return new Cursor(LocalDateTime.parse(cursor.substring(0, separator)),
+                    Long.parseLong(cursor.substring(separator + 1)));
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new BusinessException("Curseur de pagination invalide : " + cursor);
+        }
+    }
+
+    public <T> CursorPage<T> page(List<T> fetched, int limit, SortKey sort,
+                                  Function<T, LocalDateTime> date, Function<T, Long> id) {
+        if (fetched.size() <= limit) {
+            return new CursorPage<>(fetched, null);
+        }
+        List<T> items = fetched.subList(0, limit);
+        T last = items.get(limit - 1);
+        String next = sort == SortKey.DATE
+                ? date.apply(last) + SEPARATOR + id.apply(last)
+                : String.valueOf(id.apply(last));
+        return new CursorPage<>(List.copyOf(items), next);
+    }
+
+    public static final class Cursor {
+        private final LocalDateTime date;
+        private final Long id;
+
+        private Cursor(LocalDateTime date, Long id) {
+            this.date = date;
+            this.id = id;
+        }
+
+        public LocalDateTime getDate() { return date; }
+
+        public Long getId() { return id; }
+    }
+}
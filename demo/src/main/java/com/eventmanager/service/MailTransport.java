@@ -0,0 +1,12 @@
+package com.eventmanager.service;
+
+import java.util.List;
+
+/**
+ * Transport des emails. Chaque appel correspond à une connexion (SMTP ou autre)
+ * sur laquelle tous les messages du lot sont envoyés.
+ */
+public interface MailTransport {
+
+    void send(List<EmailMessage> messages);
+}
@@ -0,0 +1,164 @@
+package com.eventmanager.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Mémoïsation des lectures le temps d'une requête HTTP ou d'un accès à l'UI (push) :
+ * une même lecture répétée dans la requête est servie par une map propre au thread.
+ * Hors requête, les lectures passent directement. Compte aussi les appels en double.
+ */
+@Component
+public class RequestMemo {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestMemo.class);
+
+    // Opérations mémoïsées
+    public static final String EVENT = "event";
+    public static final String AUTHENTICATED_USER = "authenticatedUser";
+
+    private static final Object NULL = new Object();
+    private static final Scope NESTED = () -> { };
+
+    private final ThreadLocal<Memo> current = new ThreadLocal<>();
+
+    // Totaux depuis le démarrage, par opération
+    private final Map<String, LongAdder> calls = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> duplicates = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+
+    /**
+     * Portée d'une requête, à fermer en fin de requête ; une portée ouverte dans une
+     * autre ne fait rien et la mémoïsation reste celle de la portée englobante.
+     */
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    public Scope open() {
+        if (current.get() != null) {
+            return NESTED;
+        }
+        Memo memo = new Memo();
+        current.set(memo);
+        return () -> {
+            current.remove();
+            record(memo);
+        };
+    }
+
+    public <T> T call(Supplier<T> work) {
+        try (Scope scope = open()) {
+            return work.get();
+        }
+    }
+
+    public void run(Runnable work) {
+        try (Scope scope = open()) {
+            work.run();
+        }
+    }
+
+    /**
+     * Valeur de la lecture (operation, key) : calculée au premier appel de la requête,
+     * puis resservie. Une exception du chargement n'est pas mémoïsée.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String operation, Object key, Supplier<T> loader) {
+        Memo memo = current.get();
+        if (memo == null) {
+            return loader.get();
+        }
+        memo.calls.merge(operation, 1, Integer::sum);
+        Map<Object, Object> values = memo.values.computeIfAbsent(operation, op -> new HashMap<>());
+        Object value = values.get(key);
+        if (value != null) {
+            memo.duplicates.merge(operation, 1, Integer::sum);
+            return value == NULL ? null : (T) value;
+        }
+        T loaded = loader.get();
+        values.put(key, loaded == null ? NULL : loaded);
+        return loaded;
+    }
+
+    // Après une modification dans la requête : la prochaine lecture recharge
+    public void invalidate(String operation, Object key) {
+        Memo memo = current.get();
+        if (memo != null && memo.values.containsKey(operation)) {
+            memo.values.get(operation).remove(key);
+        }
+    }
+
+    public void invalidate(String operation) {
+        Memo memo = current.get();
+        if (memo != null) {
+            memo.values.remove(operation);
+        }
+    }
+
+    @EventListener
+    public void onEventChanged(EventChangedEvent changed) {
+        invalidate(EVENT, changed.getEventId());
+    }
+
+    @EventListener
+    public void onSeatsClaimed(SeatsClaimedEvent claimed) {
+        invalidate(EVENT, claimed.getEventId());
+    }
+
+    @EventListener
+    public void onSeatsReleased(SeatsReleasedEvent released) {
+        invalidate(EVENT, released.getEventId());
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent changed) {
+        invalidate(AUTHENTICATED_USER, changed.getEmail());
+    }
+
+    // Par opération : calls, duplicates, duplicatesPerRequest
+    public Map<String, Map<String, Object>> getStatistics() {
+        long total = Math.max(1, requests.sum());
+        Map<String, Map<String, Object>> statistics = new LinkedHashMap<>();
+        for (String operation : new TreeMap<>(calls).keySet()) {
+            long duplicated = duplicates.getOrDefault(operation, new LongAdder()).sum();
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("calls", calls.get(operation).sum());
+            values.put("duplicates", duplicated);
+            values.put("duplicatesPerRequest", Math.round(duplicated * 1000.0 / total) / 1000.0);
+            statistics.put(operation, values);
+        }
+        return statistics;
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    private void record(Memo memo) {
+        requests.increment();
+        memo.calls.forEach((operation, count) -> calls.computeIfAbsent(operation, op -> new LongAdder()).add(count));
+        memo.duplicates.forEach((operation, count) -> duplicates.computeIfAbsent(operation, op -> new LongAdder()).add(count));
+        if (!memo.duplicates.isEmpty() && log.isDebugEnabled()) {
+            log.debug("Lectures en double évitées dans la requête : {}", memo.duplicates);
+        }
+    }
+
+    // État d'une requête : valeurs par opération puis par clé, compteurs d'appels
+    private static final class Memo {
+        private final Map<String, Map<Object, Object>> values = new HashMap<>();
+        private final Map<String, Integer> calls = new HashMap<>();
+        private final Map<String, Integer> duplicates = new HashMap<>();
+    }
+}
@@ -0,0 +1,23 @@
+package com.eventmanager.service;
+
+import java.util.OptionalLong;
+
+/**
+ * Génération des codes de réservation présentés au client et contrôlés à l'entrée.
+ * Une implémentation peut encoder l'identifiant dans le code, ce qui permet de
+ * valider un code hors ligne et de retrouver la réservation par clé primaire.
+ */
+public interface ReservationCodeGenerator {
+
+    String generate(long reservationId);
+
+    /**
+     * @return l'identifiant encodé dans le code, ou vide si le code est invalide
+     * ou si l'implémentation n'encode pas l'identifiant
+     */
+    OptionalLong decode(String code);
+
+    default boolean isValid(String code) {
+        return decode(code).isPresent();
+    }
+}
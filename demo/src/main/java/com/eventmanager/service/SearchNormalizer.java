@@ -0,0 +1,31 @@
+package com.eventmanager.service;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Clé de comparaison des textes saisis et indexés (titres, villes) : sans accents,
+ * en minuscules, sans espaces en bord. Commune aux index du catalogue pour qu'une
+ * même saisie retienne les mêmes événements partout.
+ */
+public final class SearchNormalizer {
+
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+
+    private SearchNormalizer() {
+    }
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text.trim(), Normalizer.Form.NFD);
+        return ACCENTS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    // Filtre ville des recherches : le nom contient la saisie ("marseille" retient "Aix-Marseille")
+    public static boolean villeMatches(String villeKey, String saisie) {
+        return saisie.isEmpty() || villeKey.contains(saisie);
+    }
+}
@@ -0,0 +1,205 @@
+package com.eventmanager.service;
+
+import com.eventmanager.entity.Reservation;
+import com.eventmanager.enums.ReservationStatus;
+import com.eventmanager.repository.ReservationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Blocage temporaire des places d'une réservation EN_ATTENTE.
+ * Les échéances sont rangées dans une roue temporelle hachée (une case par tick) :
+ * chaque tick ne parcourt qu'une case, et les réservations expirées sont annulées
+ * par lots avec un seul UPDATE.
+ */
+@Service
+public class SeatHoldService {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatHoldService.class);
+
+    private static final int WHEEL_SIZE = 512;
+    private static final int BATCH_SIZE = 500;
+
+    private final ReservationRepository reservationRepository;
+    private final SeatInventory seatInventory;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Duration ttl;
+    private final long tickMillis;
+    private final long startMillis = System.currentTimeMillis();
+
+    private final Queue<Hold>[] wheel;
+    private final Map<Long, Hold> holds = new ConcurrentHashMap<>();
+    // Protège processedTick et le passage d'une case : une échéance posée sur la case
+    // suivante ne peut pas arriver pendant ou juste après son traitement
+    private final Object wheelLock = new Object();
+    private volatile long processedTick;
+
+    @SuppressWarnings("unchecked")
+    public SeatHoldService(ReservationRepository reservationRepository,
+                           SeatInventory seatInventory,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${reservation.hold.ttl:PT24H}") Duration ttl,
+                           @Value("${reservation.hold.tick-ms:1000}") long tickMillis) {
+        this.reservationRepository = reservationRepository;
+        this.seatInventory = seatInventory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+        this.tickMillis = tickMillis;
+        this.wheel = new Queue[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    // Au redémarrage, la roue est reconstruite à partir des réservations en attente
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        for (Reservation reservation : reservationRepository.findPendingReservationsOlderThan(LocalDateTime.now())) {
+            hold(reservation);
+        }
+    }
+
+    public void hold(Reservation reservation) {
+        LocalDateTime expiresAt = reservation.getDateReservation().plus(ttl);
+        long deadlineMillis = expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long wantedTick = Math.floorDiv(deadlineMillis - startMillis, tickMillis) + 1;
+
+        synchronized (wheelLock) {
+            Hold hold = new Hold(reservation.getId(), Math.max(processedTick + 1, wantedTick));
+            Hold previous = holds.put(hold.reservationId, hold);
+            if (previous != null) {
+                previous.cancelled = true;
+            }
+            wheel[(int) (hold.deadlineTick % WHEEL_SIZE)].add(hold);
+        }
+    }
+
+    // Confirmation ou annulation : l'échéance n'a plus lieu d'être.
+    // Dans une transaction, retirée seulement après le commit : un rollback garde le blocage
+    public void cancelHold(Long reservationId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    removeHold(reservationId);
+                }
+            });
+        } else {
+            removeHold(reservationId);
+        }
+    }
+
+    private void removeHold(Long reservationId) {
+        Hold hold = holds.remove(reservationId);
+        if (hold != null) {
+            hold.cancelled = true;
+        }
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public int getActiveHolds() {
+        return holds.size();
+    }
+
+    @Scheduled(fixedDelayString = "${reservation.hold.tick-ms:1000}")
+    public void tick() {
+        long currentTick = (System.currentTimeMillis() - startMillis) / tickMillis;
+        List<Long> expired = new ArrayList<>();
+
+        while (processedTick < currentTick) {
+            synchronized (wheelLock) {
+                long tick = processedTick + 1;
+                Iterator<Hold> it = wheel[(int) (tick % WHEEL_SIZE)].iterator();
+                while (it.hasNext()) {
+                    Hold hold = it.next();
+                    if (hold.cancelled) {
+                        it.remove();
+                    } else if (hold.deadlineTick <= tick) {
+                        it.remove();
+                        holds.remove(hold.reservationId, hold);
+                        expired.add(hold.reservationId);
+                    }
+                }
+                processedTick = tick;
+            }
+        }
+
+        for (int from = 0; from < expired.size(); from += BATCH_SIZE) {
+            List<Long> batch = expired.subList(from, Math.min(from + BATCH_SIZE, expired.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> expire(batch));
+            } catch (RuntimeException e) {
+                log.warn("Échec de l'expiration d'un lot de {} réservations", batch.size(), e);
+            }
+        }
+    }
+
+    /**
+     * Annule en un seul UPDATE les réservations encore en attente parmi les ids donnés
+     * et restitue leurs places. Doit être appelée dans une transaction.
+     *
+     * @return les places libérées par événement
+     */
+    public Map<Long, Integer> expire(Collection<Long> reservationIds) {
+        Map<Long, Integer> freedByEvent = new HashMap<>();
+        if (reservationIds.isEmpty()) {
+            return freedByEvent;
+        }
+
+        List<Object[]> pending = reservationRepository.lockPendingReservations(reservationIds);
+        if (pending.isEmpty()) {
+            return freedByEvent;
+        }
+
+        List<Long> ids = new ArrayList<>(pending.size());
+        for (Object[] row : pending) {
+            ids.add(((Number) row[0]).longValue());
+            freedByEvent.merge(((Number) row[1]).longValue(), ((Number) row[2]).intValue(), Integer::sum);
+        }
+
+        reservationRepository.updateStatusInBatch(ids, ReservationStatus.ANNULEE,
+                "Réservation expirée le " + LocalDateTime.now());
+        freedByEvent.forEach(seatInventory::release);
+        ids.forEach(this::cancelHold);
+        return freedByEvent;
+    }
+
+    private static final class Hold {
+        private final Long reservationId;
+        private final long deadlineTick;
+        private volatile boolean cancelled;
+
+        private Hold(Long reservationId, long deadlineTick) {
+            this.reservationId = reservationId;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
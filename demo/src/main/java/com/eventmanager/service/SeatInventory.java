@@ -0,0 +1,156 @@
+package com.eventmanager.service;
+
+import com.eventmanager.entity.Event;
+import com.eventmanager.repository.EventRepository;
+import com.eventmanager.repository.ReservationRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Inventaire des places : la colonne events.reserved_seats fait foi et n'est
+ * modifiée que par des UPDATE conditionnels ; un compteur atomique par événement
+ * en garde une copie en mémoire pour que les lectures ne touchent pas la base.
+ * Les UPDATE natifs ne passant pas par l'entité, l'événement modifié est évincé
+ * du cache de second niveau d'Hibernate.
+ */
+@Service
+public class SeatInventory {
+
+    private final EventRepository eventRepository;
+    private final ReservationRepository reservationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final Map<Long, AtomicInteger> reservedSeats = new ConcurrentHashMap<>();
+    private volatile boolean seeded = false;
+
+    public SeatInventory(EventRepository eventRepository,
+                         ReservationRepository reservationRepository,
+                         ApplicationEventPublisher eventPublisher,
+                         EntityManagerFactory entityManagerFactory) {
+        this.eventRepository = eventRepository;
+        this.reservationRepository = reservationRepository;
+        this.eventPublisher = eventPublisher;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    // Au démarrage : réparation de la colonne puis chargement des compteurs
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void seed() {
+        repair();
+    }
+
+    /**
+     * Recalcule reserved_seats à partir des réservations puis recharge les compteurs.
+     */
+    @Transactional
+    public void repair() {
+        eventRepository.recomputeReservedSeats();
+        entityManagerFactory.getCache().evict(Event.class);
+        List<Object[]> rows = eventRepository.findAllReservedSeats();
+        reservedSeats.clear();
+        for (Object[] row : rows) {
+            Long eventId = (Long) row[0];
+            int places = ((Number) row[1]).intValue();
+            reservedSeats.put(eventId, new AtomicInteger(places));
+        }
+        seeded = true;
+    }
+
+    public int getReservedSeats(Long eventId) {
+        return counter(eventId).get();
+    }
+
+    public int getAvailableSeats(Event event) {
+        return Math.max(0, event.getCapaciteMax() - getReservedSeats(event.getId()));
+    }
+
+    /**
+     * Réserve des places avec un seul UPDATE conditionnel qui vérifie la capacité
+     * et incrémente reserved_seats. Retourne false si la capacité est insuffisante.
+     */
+    public boolean claim(Long eventId, int places) {
+        if (eventRepository.claimSeats(eventId, places) == 0) {
+            return false;
+        }
+        evictCachedEvent(eventId);
+        AtomicInteger counter = counter(eventId);
+        counter.addAndGet(places);
+        onRollback(() -> counter.addAndGet(-places));
+        eventPublisher.publishEvent(new SeatsClaimedEvent(eventId, places));
+        return true;
+    }
+
+    // Restitue des places (annulation, expiration, diminution d'une réservation)
+    public void release(Long eventId, int places) {
+        eventRepository.releaseSeats(eventId, places);
+        evictCachedEvent(eventId);
+        AtomicInteger counter = counter(eventId);
+        // Compteur borné à 0 : au rollback, on ne rend que ce qui a réellement été retiré
+        int previous = counter.getAndUpdate(current -> Math.max(0, current - places));
+        int applied = Math.min(previous, places);
+        onRollback(() -> counter.addAndGet(applied));
+        eventPublisher.publishEvent(new SeatsReleasedEvent(eventId));
+    }
+
+    /**
+     * Change la capacité avec un seul UPDATE conditionnel (reserved_seats <= capacité).
+     * Retourne false si la capacité passerait sous les places déjà réservées.
+     */
+    public boolean resize(Long eventId, int capacity) {
+        if (eventRepository.updateCapacity(eventId, capacity) == 0) {
+            return false;
+        }
+        evictCachedEvent(eventId);
+        return true;
+    }
+
+    private AtomicInteger counter(Long eventId) {
+        if (seeded) {
+            return reservedSeats.computeIfAbsent(eventId, id -> new AtomicInteger());
+        }
+        // Avant le chargement initial, on lit la valeur en base une seule fois
+        return reservedSeats.computeIfAbsent(eventId,
+                id -> new AtomicInteger(reservationRepository.countReservedPlacesByEventId(id).intValue()));
+    }
+
+    // Évincé tout de suite puis après la transaction : une lecture concurrente a pu
+    // remettre en cache la ligne d'avant le commit
+    private void evictCachedEvent(Long eventId) {
+        entityManagerFactory.getCache().evict(Event.class, eventId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    entityManagerFactory.getCache().evict(Event.class, eventId);
+                }
+            });
+        }
+    }
+
+    private void onRollback(Runnable compensation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    compensation.run();
+                }
+            }
+        });
+    }
+}
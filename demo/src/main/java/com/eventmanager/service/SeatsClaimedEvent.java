@@ -0,0 +1,20 @@
+package com.eventmanager.service;
+
+/**
+ * Publié quand des places sont réservées pour un événement (nouvelle réservation
+ * ou augmentation d'une réservation existante).
+ */
+public class SeatsClaimedEvent {
+
+    private final Long eventId;
+    private final int places;
+
+    public SeatsClaimedEvent(Long eventId, int places) {
+        this.eventId = eventId;
+        this.places = places;
+    }
+
+    public Long getEventId() { return eventId; }
+
+    public int getPlaces() { return places; }
+}
@@ -0,0 +1,17 @@
+package com.eventmanager.service;
+
+/**
+ * Publié quand des places redeviennent disponibles pour un événement
+ * (annulation, expiration, diminution d'une réservation, hausse de capacité).
+ * Traité de façon synchrone, dans la transaction qui libère les places.
+ */
+public class SeatsReleasedEvent {
+
+    private final Long eventId;
+
+    public SeatsReleasedEvent(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public Long getEventId() { return eventId; }
+}
@@ -0,0 +1,104 @@
+package com.eventmanager.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Regroupement des lectures identiques concurrentes : le premier appelant d'une clé
+ * exécute la lecture, ceux qui arrivent pendant qu'elle est en cours attendent son
+ * CompletableFuture au lieu d'interroger la base à leur tour. Rien n'est conservé
+ * une fois la lecture terminée (ce n'est pas un cache).
+ * Réservé aux lectures de DTO : une entité chargée par le premier appelant reste
+ * attachée à sa session et ne doit pas être partagée entre threads.
+ */
+@Component
+public class SingleFlight {
+
+    // Lectures regroupées
+    public static final String EVENT_CARD = "eventCard";
+
+    private final Map<List<Object>, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    // Par opération : appels et lectures réellement exécutées
+    private final Map<String, LongAdder> calls = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> executions = new ConcurrentHashMap<>();
+
+    /**
+     * Résultat de loader pour (operation, key), partagé avec les appels concurrents de
+     * la même clé. Une exception de la lecture est relancée chez tous les appelants.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, Object key, Supplier<T> loader) {
+        counter(calls, operation).increment();
+        List<Object> flightKey = List.of(operation, key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(flightKey, flight);
+        if (leader != null) {
+            return (T) await(leader);
+        }
+
+        counter(executions, operation).increment();
+        try {
+            T value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    // Par opération : calls, executions, coalesced, coalescingRatio (part des appels regroupés)
+    public Map<String, Map<String, Object>> getStatistics() {
+        Map<String, Map<String, Object>> statistics = new LinkedHashMap<>();
+        for (String operation : new TreeMap<>(calls).keySet()) {
+            long total = calls.get(operation).sum();
+            long executed = counter(executions, operation).sum();
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("calls", total);
+            values.put("executions", executed);
+            values.put("coalesced", total - executed);
+            values.put("coalescingRatio", total == 0 ? 0.0 : Math.round((total - executed) * 1000.0 / total) / 1000.0);
+            statistics.put(operation, values);
+        }
+        return statistics;
+    }
+
+    public long getExecutions(String operation) {
+        return counter(executions, operation).sum();
+    }
+
+    public long getCalls(String operation) {
+        return counter(calls, operation).sum();
+    }
+
+    private static Object await(CompletableFuture<Object> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    private static LongAdder counter(Map<String, LongAdder> counters, String operation) {
+        return counters.computeIfAbsent(operation, op -> new LongAdder());
+    }
+}
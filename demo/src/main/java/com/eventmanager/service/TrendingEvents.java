@@ -0,0 +1,215 @@
+package com.eventmanager.service;
+
+import com.eventmanager.entity.Event;
+import com.eventmanager.enums.EventStatus;
+import com.eventmanager.repository.EventRepository;
+import com.eventmanager.repository.ReservationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Classement des événements en vogue pour la page d'accueil.
+ *
+ * Chaque réservation ajoute à l'événement un score places × 2^(âge / demi-vie)
+ * mesuré depuis une date de référence (décroissance « vers l'avant ») : le score
+ * d'une réservation n'a jamais à être recalculé, les plus récentes pèsent
+ * simplement davantage. Les K meilleurs événements sont extraits périodiquement
+ * par un tas borné et publiés dans une liste immuable que la page d'accueil lit
+ * sans verrou ni requête d'agrégation.
+ */
+@Service
+public class TrendingEvents implements EventIndex {
+
+    // Au-delà de 2^EXPONENT_LIMIT, les scores sont ramenés à la date du jour
+    private static final double EXPONENT_LIMIT = 256;
+    // Réservations plus anciennes que HORIZON demi-vies ignorées au démarrage (poids < 2^-20)
+    private static final int HORIZON = 20;
+
+    private final EventRepository eventRepository;
+    private final ReservationRepository reservationRepository;
+    private final long halfLifeSeconds;
+    private final int topK;
+
+    // Événements publiés et non terminés, classés même sans réservation
+    private final Map<Long, Candidate> candidates = new ConcurrentHashMap<>();
+    private final Map<Long, Double> scores = new ConcurrentHashMap<>();
+    // Lecture : ajout d'un score ; écriture : changement de date de référence
+    private final ReentrantReadWriteLock landmarkLock = new ReentrantReadWriteLock();
+    private long landmark = toSeconds(LocalDateTime.now());
+
+    private volatile List<Long> snapshot = List.of();
+
+    public TrendingEvents(EventRepository eventRepository,
+                          ReservationRepository reservationRepository,
+                          @Value("${trending.half-life:PT24H}") Duration halfLife,
+                          @Value("${trending.top-k:24}") int topK) {
+        this.eventRepository = eventRepository;
+        this.reservationRepository = reservationRepository;
+        this.halfLifeSeconds = Math.max(1, halfLife.getSeconds());
+        this.topK = topK;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        candidates.clear();
+        scores.clear();
+        for (Event event : eventRepository.findAll()) {
+            Candidate candidate = Candidate.of(event, now);
+            if (candidate != null) {
+                candidates.put(event.getId(), candidate);
+            }
+        }
+        LocalDateTime since = now.minusSeconds(halfLifeSeconds * HORIZON);
+        for (Object[] booking : reservationRepository.findBookingsSince(since)) {
+            record((Long) booking[0], ((Number) booking[2]).intValue(), (LocalDateTime) booking[1]);
+        }
+        refresh();
+    }
+
+    // Places réservées, prises en compte une fois la transaction validée
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatsClaimed(SeatsClaimedEvent claimed) {
+        record(claimed.getEventId(), claimed.getPlaces(), LocalDateTime.now());
+    }
+
+    // Publication, modification, changement de statut ou suppression d'un événement
+    @Override
+    public void update(Long eventId, Event event) {
+        Candidate candidate = event != null ? Candidate.of(event, LocalDateTime.now()) : null;
+        if (candidate != null) {
+            candidates.put(eventId, candidate);
+        } else {
+            candidates.remove(eventId);
+            scores.remove(eventId);
+            // Un événement annulé ou supprimé quitte la page d'accueil sans attendre le prochain calcul
+            if (snapshot.contains(eventId)) {
+                refresh();
+            }
+        }
+    }
+
+    public void record(Long eventId, int places, LocalDateTime when) {
+        if (places <= 0) {
+            return;
+        }
+        landmarkLock.readLock().lock();
+        try {
+            double weight = places * Math.pow(2, (double) (toSeconds(when) - landmark) / halfLifeSeconds);
+            scores.merge(eventId, weight, Double::sum);
+        } finally {
+            landmarkLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recalcule le classement : tas borné à K éléments dont la racine est le moins
+     * bien classé, soit O(n log K) pour n événements candidats. À score égal,
+     * l'événement le plus proche passe devant.
+     */
+    @Scheduled(fixedDelayString = "${trending.refresh-ms:10000}")
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        rescaleIfNeeded(toSeconds(now));
+        candidates.values().removeIf(candidate -> candidate.isFinished(now));
+        scores.keySet().retainAll(candidates.keySet());
+
+        Comparator<Ranked> order = Comparator.<Ranked>comparingDouble(r -> r.score)
+                .thenComparing(r -> r.dateDebut, Comparator.reverseOrder())
+                .thenComparing(r -> r.eventId, Comparator.reverseOrder());
+        PriorityQueue<Ranked> heap = new PriorityQueue<>(topK + 1, order);
+        candidates.forEach((eventId, candidate) -> {
+            Ranked ranked = new Ranked(eventId, scores.getOrDefault(eventId, 0.0), candidate.dateDebut);
+            if (heap.size() < topK) {
+                heap.add(ranked);
+            } else if (order.compare(ranked, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(ranked);
+            }
+        });
+
+        List<Long> ranking = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            ranking.add(heap.poll().eventId);
+        }
+        Collections.reverse(ranking);
+        snapshot = List.copyOf(ranking);
+    }
+
+    // Les limit premiers du dernier classement (au plus K)
+    public List<Long> top(int limit) {
+        List<Long> current = snapshot;
+        return current.subList(0, Math.min(limit, current.size()));
+    }
+
+    // Ramène la date de référence à maintenant pour que les poids restent représentables
+    private void rescaleIfNeeded(long nowSeconds) {
+        landmarkLock.writeLock().lock();
+        try {
+            double exponent = (double) (nowSeconds - landmark) / halfLifeSeconds;
+            if (exponent > EXPONENT_LIMIT) {
+                double factor = Math.pow(2, -exponent);
+                scores.replaceAll((eventId, score) -> score * factor);
+                landmark = nowSeconds;
+            }
+        } finally {
+            landmarkLock.writeLock().unlock();
+        }
+    }
+
+    private static long toSeconds(LocalDateTime date) {
+        return date.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static final class Candidate {
+        private final LocalDateTime dateDebut;
+        private final LocalDateTime dateFin;
+
+        private Candidate(LocalDateTime dateDebut, LocalDateTime dateFin) {
+            this.dateDebut = dateDebut;
+            this.dateFin = dateFin;
+        }
+
+        private static Candidate of(Event event, LocalDateTime now) {
+            if (event.getStatut() != EventStatus.PUBLIE || event.getDateDebut() == null) {
+                return null;
+            }
+            Candidate candidate = new Candidate(event.getDateDebut(), event.getDateFin());
+            return candidate.isFinished(now) ? null : candidate;
+        }
+
+        private boolean isFinished(LocalDateTime now) {
+            return dateFin != null && !dateFin.isAfter(now);
+        }
+    }
+
+    private static final class Ranked {
+        private final Long eventId;
+        private final double score;
+        private final LocalDateTime dateDebut;
+
+        private Ranked(Long eventId, double score, LocalDateTime dateDebut) {
+            this.eventId = eventId;
+            this.score = score;
+            this.dateDebut = dateDebut;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.eventmanager.service;
+
+/**
+ * Publié quand le profil, le rôle ou le statut d'un utilisateur change.
+ * Sert à invalider les copies de l'utilisateur connecté gardées en session.
+ */
+public class UserChangedEvent {
+
+    private final Long userId;
+    private final String email;
+
+    public UserChangedEvent(Long userId, String email) {
+        this.userId = userId;
+        this.email = email;
+    }
+
+    public Long getUserId() { return userId; }
+
+    public String getEmail() { return email; }
+}
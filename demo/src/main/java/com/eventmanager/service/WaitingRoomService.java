@@ -0,0 +1,269 @@
+package com.eventmanager.service;
+
+import com.eventmanager.dto.QueuePositionDTO;
+import com.eventmanager.exception.BusinessException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Salle d'attente virtuelle pour les événements très demandés.
+ * Activée par événement depuis l'administration : les utilisateurs reçoivent un
+ * jeton et une position, et seules N tentatives de réservation par seconde
+ * sont admises dans ReservationServiceImpl.
+ * L'activation est gardée à part de l'état de la file : une file vide et inactive
+ * depuis idle-timeout est libérée, mais la salle reste active et une nouvelle file
+ * est créée à la prochaine arrivée.
+ */
+@Service
+public class WaitingRoomService {
+
+    private final int admissionsPerSecond;
+    private final int maxQueueSize;
+    private final long admissionWindowMillis;
+    private final long idleTimeoutMillis;
+
+    // Salles activées depuis l'administration, et files des salles actives
+    private final Set<Long> enabledEvents = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Room> rooms = new ConcurrentHashMap<>();
+
+    public WaitingRoomService(@Value("${reservation.waiting-room.admissions-per-second:50}") int admissionsPerSecond,
+                              @Value("${reservation.waiting-room.max-size:10000}") int maxQueueSize,
+                              @Value("${reservation.waiting-room.admission-window:PT5M}") Duration admissionWindow,
+                              @Value("${reservation.waiting-room.idle-timeout:PT1H}") Duration idleTimeout) {
+        this.admissionsPerSecond = admissionsPerSecond;
+        this.maxQueueSize = maxQueueSize;
+        this.admissionWindowMillis = admissionWindow.toMillis();
+        this.idleTimeoutMillis = idleTimeout.toMillis();
+    }
+
+    public void enable(Long eventId) {
+        enabledEvents.add(eventId);
+    }
+
+    // Désactivation : tous les utilisateurs encore en attente sont admis
+    public void disable(Long eventId) {
+        enabledEvents.remove(eventId);
+        Room room = rooms.remove(eventId);
+        if (room != null) {
+            room.close();
+            room.admitAll();
+        }
+    }
+
+    public boolean isEnabled(Long eventId) {
+        return enabledEvents.contains(eventId);
+    }
+
+    public QueuePositionDTO join(Long eventId, Long userId) {
+        while (isEnabled(eventId)) {
+            QueuePositionDTO position = rooms.computeIfAbsent(eventId, Room::new).join(userId);
+            // null : file libérée entre-temps, on recommence avec une nouvelle file
+            if (position != null) {
+                return position;
+            }
+        }
+        return new QueuePositionDTO(null, eventId, 0, true);
+    }
+
+    public QueuePositionDTO getPosition(Long eventId, String token) {
+        Room room = rooms.get(eventId);
+        if (room == null) {
+            return new QueuePositionDTO(token, eventId, 0, true);
+        }
+        return room.position(token);
+    }
+
+    /**
+     * Abonne l'appelant aux changements de position d'un jeton (appelé depuis le thread d'admission).
+     *
+     * @return action de désabonnement
+     */
+    public Runnable addPositionListener(Long eventId, String token, Consumer<QueuePositionDTO> listener) {
+        Room room = rooms.get(eventId);
+        if (room == null) {
+            listener.accept(new QueuePositionDTO(token, eventId, 0, true));
+            return () -> { };
+        }
+        return room.addListener(token, listener);
+    }
+
+    /**
+     * Consomme l'admission de l'utilisateur si la salle d'attente est active pour l'événement.
+     * Dans une transaction, l'admission est rendue si la transaction est annulée : une
+     * réservation refusée (validation, places insuffisantes, autre ligne d'une commande)
+     * ne coûte pas son passage à l'utilisateur.
+     */
+    public void checkAdmission(Long eventId, Long userId) {
+        if (!isEnabled(eventId)) {
+            return;
+        }
+        Room room = rooms.get(eventId);
+        Long until = room != null ? room.consumeAdmission(userId) : null;
+        if (until == null) {
+            throw new BusinessException("Forte affluence : veuillez patienter dans la file d'attente");
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        room.restoreAdmission(userId, until);
+                    }
+                }
+            });
+        }
+    }
+
+    @Scheduled(fixedRate = 1000)
+    public void admitNextBatch() {
+        long now = System.currentTimeMillis();
+        rooms.values().forEach(room -> room.admit(admissionsPerSecond, now));
+        // Files vides et inactives : retirées de la map, l'activation est conservée
+        rooms.forEach((eventId, room) -> rooms.computeIfPresent(eventId,
+                (id, current) -> current.closeIfIdle(now - idleTimeoutMillis) ? null : current));
+    }
+
+    int getRoomCount() {
+        return rooms.size();
+    }
+
+    private final class Room {
+
+        private final Long eventId;
+        private final ArrayDeque<Ticket> queue = new ArrayDeque<>();
+        private final Map<String, Ticket> ticketsByToken = new HashMap<>();
+        private final Map<Long, Ticket> ticketsByUser = new HashMap<>();
+        private final Map<Long, Long> admittedUntil = new ConcurrentHashMap<>();
+        private long nextSequence = 1;
+        private volatile long admittedSequence = 0;
+        private volatile long lastActivity = System.currentTimeMillis();
+        private boolean closed;
+
+        private Room(Long eventId) {
+            this.eventId = eventId;
+        }
+
+        private synchronized QueuePositionDTO join(Long userId) {
+            lastActivity = System.currentTimeMillis();
+            if (closed) {
+                return null;
+            }
+            if (admittedUntil.containsKey(userId)) {
+                return new QueuePositionDTO(null, eventId, 0, true);
+            }
+            Ticket ticket = ticketsByUser.get(userId);
+            if (ticket == null) {
+                if (queue.size() >= maxQueueSize) {
+                    throw new BusinessException("La file d'attente est pleine, veuillez réessayer plus tard");
+                }
+                ticket = new Ticket(UUID.randomUUID().toString(), userId, nextSequence++);
+                queue.addLast(ticket);
+                ticketsByToken.put(ticket.token, ticket);
+                ticketsByUser.put(userId, ticket);
+            }
+            return status(ticket);
+        }
+
+        private synchronized QueuePositionDTO position(String token) {
+            Ticket ticket = ticketsByToken.get(token);
+            return ticket != null ? status(ticket) : new QueuePositionDTO(token, eventId, 0, true);
+        }
+
+        private synchronized Runnable addListener(String token, Consumer<QueuePositionDTO> listener) {
+            Ticket ticket = ticketsByToken.get(token);
+            if (ticket == null) {
+                listener.accept(new QueuePositionDTO(token, eventId, 0, true));
+                return () -> { };
+            }
+            ticket.listener = listener;
+            return () -> ticket.listener = null;
+        }
+
+        // Échéance de l'admission consommée, null si aucune admission valide
+        private Long consumeAdmission(Long userId) {
+            Long until = admittedUntil.remove(userId);
+            return until != null && until >= System.currentTimeMillis() ? until : null;
+        }
+
+        private void restoreAdmission(Long userId, long until) {
+            if (until >= System.currentTimeMillis()) {
+                admittedUntil.putIfAbsent(userId, until);
+            }
+        }
+
+        private synchronized void close() {
+            closed = true;
+        }
+
+        private synchronized boolean closeIfIdle(long idleSince) {
+            if (queue.isEmpty() && admittedUntil.isEmpty() && lastActivity <= idleSince) {
+                closed = true;
+            }
+            return closed;
+        }
+
+        private void admit(int count, long now) {
+            List<Ticket> admitted = new ArrayList<>();
+            List<Ticket> waiting;
+            synchronized (this) {
+                admittedUntil.values().removeIf(until -> until < now);
+                if (!queue.isEmpty()) {
+                    lastActivity = now;
+                }
+                while (admitted.size() < count && !queue.isEmpty()) {
+                    Ticket ticket = queue.pollFirst();
+                    ticketsByToken.remove(ticket.token);
+                    ticketsByUser.remove(ticket.userId);
+                    admittedUntil.put(ticket.userId, now + admissionWindowMillis);
+                    admittedSequence = ticket.sequence;
+                    admitted.add(ticket);
+                }
+                waiting = admitted.isEmpty() ? List.of() : new ArrayList<>(queue);
+            }
+            admitted.forEach(ticket -> publish(ticket, new QueuePositionDTO(ticket.token, eventId, 0, true)));
+            waiting.forEach(ticket -> publish(ticket, status(ticket)));
+        }
+
+        private void admitAll() {
+            admit(Integer.MAX_VALUE, System.currentTimeMillis());
+        }
+
+        private QueuePositionDTO status(Ticket ticket) {
+            return new QueuePositionDTO(ticket.token, eventId, (int) (ticket.sequence - admittedSequence), false);
+        }
+
+        private void publish(Ticket ticket, QueuePositionDTO position) {
+            Consumer<QueuePositionDTO> listener = ticket.listener;
+            if (listener != null) {
+                listener.accept(position);
+            }
+        }
+    }
+
+    private static final class Ticket {
+        private final String token;
+        private final Long userId;
+        private final long sequence;
+        private volatile Consumer<QueuePositionDTO> listener;
+
+        private Ticket(String token, Long userId, long sequence) {
+            this.token = token;
+            this.userId = userId;
+            this.sequence = sequence;
+        }
+    }
+}
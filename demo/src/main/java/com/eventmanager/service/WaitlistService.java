@@ -0,0 +1,210 @@
+package com.eventmanager.service;
+
+import com.eventmanager.entity.Event;
+import com.eventmanager.entity.Reservation;
+import com.eventmanager.entity.User;
+import com.eventmanager.enums.EventStatus;
+import com.eventmanager.enums.ReservationStatus;
+import com.eventmanager.exception.BusinessException;
+import com.eventmanager.repository.EventRepository;
+import com.eventmanager.repository.ReservationRepository;
+import com.eventmanager.repository.UserRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Liste d'attente par événement, ordonnée par date d'inscription.
+ * Dès que des places se libèrent (SeatsReleasedEvent), les premiers inscrits
+ * sont promus en réservations EN_ATTENTE dans la même transaction, sans relire
+ * la table des réservations : chaque promotion coûte un poll sur la file.
+ * Les promus sont prévenus par email après le commit.
+ */
+@Service
+public class WaitlistService {
+
+    private static final Comparator<Entry> BY_JOIN_ORDER =
+            Comparator.comparing((Entry entry) -> entry.joinedAt).thenComparingLong(entry -> entry.sequence);
+
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+    private final ReservationRepository reservationRepository;
+    private final SeatInventory seatInventory;
+    private final SeatHoldService seatHoldService;
+    private final EmailService emailService;
+
+    private final Map<Long, Waitlist> waitlists = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public WaitlistService(EventRepository eventRepository,
+                           UserRepository userRepository,
+                           ReservationRepository reservationRepository,
+                           SeatInventory seatInventory,
+                           SeatHoldService seatHoldService,
+                           EmailService emailService) {
+        this.eventRepository = eventRepository;
+        this.userRepository = userRepository;
+        this.reservationRepository = reservationRepository;
+        this.seatInventory = seatInventory;
+        this.seatHoldService = seatHoldService;
+        this.emailService = emailService;
+    }
+
+    /**
+     * Inscrit l'utilisateur sur la liste d'attente de l'événement.
+     *
+     * @return la position de l'utilisateur dans la liste
+     */
+    public int join(Long eventId, Long userId, int nombrePlaces) {
+        Entry entry = new Entry(userId, nombrePlaces, LocalDateTime.now(), sequence.incrementAndGet());
+        Waitlist waitlist = waitlists.computeIfAbsent(eventId, id -> new Waitlist());
+        if (!waitlist.add(entry)) {
+            throw new BusinessException("Vous êtes déjà inscrit sur la liste d'attente de cet événement");
+        }
+        return waitlist.size();
+    }
+
+    public int size(Long eventId) {
+        Waitlist waitlist = waitlists.get(eventId);
+        return waitlist != null ? waitlist.size() : 0;
+    }
+
+    // Appelé de façon synchrone, dans la transaction qui a libéré les places
+    @EventListener
+    public void onSeatsReleased(SeatsReleasedEvent released) {
+        promote(released.getEventId());
+    }
+
+    /**
+     * Promeut les premiers inscrits tant que les places libres suffisent.
+     * La promotion s'arrête au premier inscrit qui ne peut pas être servi,
+     * pour respecter l'ordre d'inscription.
+     */
+    public List<Reservation> promote(Long eventId) {
+        Waitlist waitlist = waitlists.get(eventId);
+        if (waitlist == null || waitlist.size() == 0) {
+            return List.of();
+        }
+        Event event = eventRepository.findById(eventId).orElse(null);
+        if (event == null || event.getStatut() == EventStatus.ANNULE
+                || event.getDateDebut().isBefore(LocalDateTime.now())) {
+            waitlists.remove(eventId);
+            return List.of();
+        }
+
+        // Le verrou de la file ne couvre que le poll : l'UPDATE de claim est fait hors du verrou,
+        // et un inscrit qui n'obtient pas ses places reprend sa position en tête
+        List<Entry> promoted = new ArrayList<>();
+        Entry next;
+        while ((next = waitlist.pollIf(entry -> entry.places <= seatInventory.getAvailableSeats(event))) != null) {
+            if (!seatInventory.claim(eventId, next.places)) {
+                waitlist.restore(List.of(next));
+                break;
+            }
+            promoted.add(next);
+        }
+        if (promoted.isEmpty()) {
+            return List.of();
+        }
+        // Si la transaction échoue, les inscrits retrouvent leur place dans la file
+        onRollback(() -> waitlist.restore(promoted));
+
+        Map<Long, User> users = new HashMap<>();
+        userRepository.findAllById(promoted.stream().map(entry -> entry.userId).toList())
+                .forEach(user -> users.put(user.getId(), user));
+        List<Reservation> reservations = new ArrayList<>(promoted.size());
+        for (Entry entry : promoted) {
+            User user = users.computeIfAbsent(entry.userId, userRepository::getReferenceById);
+            Reservation reservation = new Reservation(user, event, entry.places);
+            reservation.setStatut(ReservationStatus.EN_ATTENTE);
+            reservation.setCommentaire("Promue depuis la liste d'attente le " + LocalDateTime.now());
+            reservations.add(reservation);
+        }
+        List<Reservation> saved = reservationRepository.saveAll(reservations);
+        saved.forEach(seatHoldService::hold);
+        for (Reservation reservation : saved) {
+            User user = reservation.getUtilisateur();
+            emailService.sendWaitlistPromotion(user.getEmail(), event.getTitre(),
+                    user.getPrenom() + " " + user.getNom(), reservation.getNombrePlaces());
+        }
+        return saved;
+    }
+
+    private void onRollback(Runnable compensation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    compensation.run();
+                }
+            }
+        });
+    }
+
+    private static final class Waitlist {
+
+        private final PriorityQueue<Entry> queue = new PriorityQueue<>(BY_JOIN_ORDER);
+        private final Set<Long> users = new HashSet<>();
+
+        private synchronized boolean add(Entry entry) {
+            if (!users.add(entry.userId)) {
+                return false;
+            }
+            queue.add(entry);
+            return true;
+        }
+
+        private synchronized int size() {
+            return queue.size();
+        }
+
+        // Retire la tête de file si elle peut être servie, sinon null
+        private synchronized Entry pollIf(Predicate<Entry> canPromote) {
+            if (queue.isEmpty() || !canPromote.test(queue.peek())) {
+                return null;
+            }
+            Entry entry = queue.poll();
+            users.remove(entry.userId);
+            return entry;
+        }
+
+        private synchronized void restore(List<Entry> entries) {
+            for (Entry entry : entries) {
+                if (users.add(entry.userId)) {
+                    queue.add(entry);
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final Long userId;
+        private final int places;
+        private final LocalDateTime joinedAt;
+        private final long sequence;
+
+        private Entry(Long userId, int places, LocalDateTime joinedAt, long sequence) {
+            this.userId = userId;
+            this.places = places;
+            this.joinedAt = joinedAt;
+            this.sequence = sequence;
+        }
+    }
+}
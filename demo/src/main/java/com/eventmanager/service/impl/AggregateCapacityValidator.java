@@ -0,0 +1,31 @@
+package com.eventmanager.service.impl;
+
+import com.eventmanager.entity.Event;
+import com.eventmanager.exception.BusinessException;
+import com.eventmanager.repository.ReservationRepository;
+import com.eventmanager.service.CapacityValidator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Vérification par une requête SUM sur les réservations de l'événement
+@Component
+@ConditionalOnProperty(name = "reservation.capacity.strategy", havingValue = "aggregate")
+public class AggregateCapacityValidator implements CapacityValidator {
+
+    private final ReservationRepository reservationRepository;
+
+    public AggregateCapacityValidator(ReservationRepository reservationRepository) {
+        this.reservationRepository = reservationRepository;
+    }
+
+    @Override
+    public void checkCapacity(Event event, int requestedSeats) {
+        long placesReservees = reservationRepository.countReservedPlacesByEventId(event.getId());
+        long placesDisponibles = Math.max(0, event.getCapaciteMax() - placesReservees);
+        if (requestedSeats > placesDisponibles) {
+            throw new BusinessException(String.format(
+                    "Nombre de places insuffisant. Disponible: %d, Demandé: %d",
+                    placesDisponibles, requestedSeats));
+        }
+    }
+}
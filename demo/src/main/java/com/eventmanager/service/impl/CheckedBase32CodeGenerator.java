@@ -0,0 +1,95 @@
+package com.eventmanager.service.impl;
+
+import com.eventmanager.service.ReservationCodeGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.OptionalLong;
+
+/**
+ * Code dérivé de l'identifiant (générateur par défaut) : EVT- suivi de 8 caractères
+ * en base 32 de Crockford et d'un caractère de contrôle modulo 37.
+ * L'identifiant est mélangé par une multiplication inversible modulo 2^40 pour que
+ * deux réservations consécutives n'aient pas des codes voisins ; le décodage
+ * est un calcul en O(1), sans accès à la base.
+ */
+@Component
+@ConditionalOnProperty(name = "reservation.code.generator", havingValue = "base32", matchIfMissing = true)
+public class CheckedBase32CodeGenerator implements ReservationCodeGenerator {
+
+    private static final String PREFIX = "EVT-";
+    private static final char[] SYMBOLS = "0123456789ABCDEFGHJKMNPQRSTVWXYZ*~$=U".toCharArray();
+    private static final int PAYLOAD_CHARS = 8;
+    private static final int CODE_LENGTH = PREFIX.length() + PAYLOAD_CHARS + 1;
+
+    private static final long MASK = (1L << 40) - 1;
+    private static final long MULTIPLIER = 0x9E3779B97FL;
+    private static final long INVERSE = inverse(MULTIPLIER);
+
+    // Valeur de chaque caractère (minuscules et confusions I/L -> 1, O -> 0 acceptées)
+    private static final byte[] VALUES = new byte[128];
+
+    static {
+        Arrays.fill(VALUES, (byte) -1);
+        for (int i = 0; i < SYMBOLS.length; i++) {
+            VALUES[SYMBOLS[i]] = (byte) i;
+            VALUES[Character.toLowerCase(SYMBOLS[i])] = (byte) i;
+        }
+        VALUES['O'] = VALUES['o'] = 0;
+        VALUES['I'] = VALUES['i'] = VALUES['L'] = VALUES['l'] = 1;
+    }
+
+    @Override
+    public String generate(long reservationId) {
+        if (reservationId < 0 || reservationId > MASK) {
+            throw new IllegalArgumentException("Identifiant de réservation hors limites: " + reservationId);
+        }
+        long payload = (reservationId * MULTIPLIER) & MASK;
+
+        char[] code = new char[CODE_LENGTH];
+        PREFIX.getChars(0, PREFIX.length(), code, 0);
+        for (int i = PAYLOAD_CHARS - 1, shift = 0; i >= 0; i--, shift += 5) {
+            code[PREFIX.length() + i] = SYMBOLS[(int) ((payload >>> shift) & 31)];
+        }
+        code[CODE_LENGTH - 1] = SYMBOLS[(int) (payload % 37)];
+        return new String(code);
+    }
+
+    @Override
+    public OptionalLong decode(String code) {
+        if (code == null) {
+            return OptionalLong.empty();
+        }
+        code = code.trim();
+        if (code.length() != CODE_LENGTH || !code.regionMatches(true, 0, PREFIX, 0, PREFIX.length())) {
+            return OptionalLong.empty();
+        }
+
+        long payload = 0;
+        for (int i = PREFIX.length(); i < CODE_LENGTH - 1; i++) {
+            int value = valueOf(code.charAt(i));
+            if (value < 0 || value > 31) {
+                return OptionalLong.empty();
+            }
+            payload = (payload << 5) | value;
+        }
+        if (valueOf(code.charAt(CODE_LENGTH - 1)) != payload % 37) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of((payload * INVERSE) & MASK);
+    }
+
+    private static int valueOf(char c) {
+        return c < VALUES.length ? VALUES[c] : -1;
+    }
+
+    // Inverse d'un nombre impair modulo 2^64 (méthode de Newton), donc aussi modulo 2^40
+    private static long inverse(long odd) {
+        long x = odd;
+        for (int i = 0; i < 5; i++) {
+            x *= 2 - odd * x;
+        }
+        return x;
+    }
+}
@@ -0,0 +1,19 @@
+package com.eventmanager.service.impl;
+
+import com.eventmanager.service.EmailMessage;
+import com.eventmanager.service.MailTransport;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Transport par défaut : aucun serveur SMTP n'est configuré, les emails sont affichés
+@Component
+public class ConsoleMailTransport implements MailTransport {
+
+    @Override
+    public void send(List<EmailMessage> messages) {
+        for (EmailMessage message : messages) {
+            System.out.printf("Email envoyé à %s: %s%n%s%n", message.getTo(), message.getSubject(), message.getBody());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.eventmanager.service.impl;
+
+import com.eventmanager.entity.Event;
+import com.eventmanager.exception.BusinessException;
+import com.eventmanager.service.CapacityValidator;
+import com.eventmanager.service.SeatInventory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Vérification en O(1) à partir des compteurs de SeatInventory (stratégie par défaut)
+@Component
+@ConditionalOnProperty(name = "reservation.capacity.strategy", havingValue = "counter", matchIfMissing = true)
+public class CounterCapacityValidator implements CapacityValidator {
+
+    private final SeatInventory seatInventory;
+
+    public CounterCapacityValidator(SeatInventory seatInventory) {
+        this.seatInventory = seatInventory;
+    }
+
+    @Override
+    public void checkCapacity(Event event, int requestedSeats) {
+        int placesDisponibles = seatInventory.getAvailableSeats(event);
+        if (requestedSeats > placesDisponibles) {
+            throw new BusinessException(String.format(
+                    "Nombre de places insuffisant. Disponible: %d, Demandé: %d",
+                    placesDisponibles, requestedSeats));
+        }
+    }
+}
@@ -1,26 +1,47 @@
 package com.eventmanager.service.impl;
 
+import com.eventmanager.dto.CursorPage;
+import com.eventmanager.dto.EventDTO;
+import com.eventmanager.dto.FacetCountsDTO;
+import com.eventmanager.dto.SeatAvailabilityMap;
 import com.eventmanager.entity.Event;
 import com.eventmanager.entity.User;
 import com.eventmanager.enums.EventCategory;
 import com.eventmanager.enums.EventStatus;
-import com.eventmanager.enums.ReservationStatus;
 import com.eventmanager.exception.BusinessException;
 import com.eventmanager.exception.ResourceNotFoundException;
 import com.eventmanager.repository.EventRepository;
 import com.eventmanager.repository.ReservationRepository;
+import com.eventmanager.service.EventCancelledEvent;
+import com.eventmanager.service.EventChangedEvent;
+import com.eventmanager.service.EventFacetIndex;
+import com.eventmanager.service.EventIntervalIndex;
+import com.eventmanager.service.EventSearchIndex;
 import com.eventmanager.service.IEventService;
 import com.eventmanager.service.IUserService;
+import com.eventmanager.service.KeysetPagination;
+import com.eventmanager.service.RequestMemo;
+import com.eventmanager.service.SingleFlight;
+import com.eventmanager.service.SeatInventory;
+import com.eventmanager.service.SeatsReleasedEvent;
+import com.eventmanager.service.TrendingEvents;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,14 +51,41 @@ public class EventServiceImpl implements IEventService {
     private final EventRepository eventRepository;
     private final ReservationRepository reservationRepository;
     private final IUserService userService;
+    private final SeatInventory seatInventory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EventSearchIndex searchIndex;
+    private final EventFacetIndex facetIndex;
+    private final EventIntervalIndex intervalIndex;
+    private final KeysetPagination pagination;
+    private final TrendingEvents trendingEvents;
+    private final RequestMemo requestMemo;
+    private final SingleFlight singleFlight;
 
     @Autowired
     public EventServiceImpl(EventRepository eventRepository,
                             ReservationRepository reservationRepository,
-                            IUserService userService) {
+                            IUserService userService,
+                            SeatInventory seatInventory,
+                            ApplicationEventPublisher eventPublisher,
+                            EventSearchIndex searchIndex,
+                            EventFacetIndex facetIndex,
+                            EventIntervalIndex intervalIndex,
+                            KeysetPagination pagination,
+                            TrendingEvents trendingEvents,
+                            RequestMemo requestMemo,
+                            SingleFlight singleFlight) {
         this.eventRepository = eventRepository;
         this.reservationRepository = reservationRepository;
         this.userService = userService;
+        this.seatInventory = seatInventory;
+        this.eventPublisher = eventPublisher;
+        this.searchIndex = searchIndex;
+        this.facetIndex = facetIndex;
+        this.intervalIndex = intervalIndex;
+        this.pagination = pagination;
+        this.trendingEvents = trendingEvents;
+        this.requestMemo = requestMemo;
+        this.singleFlight = singleFlight;
     }
 
     @Override
@@ -73,7 +121,9 @@ public class EventServiceImpl implements IEventService {
         event.setCategorie(event.getCategorie() != null ? event.getCategorie() : EventCategory.AUTRE);
         event.setStatut(EventStatus.BROUILLON);
 
-        return eventRepository.save(event);
+        Event saved = eventRepository.save(event);
+        eventPublisher.publishEvent(new EventChangedEvent(saved.getId()));
+        return saved;
     }
 
     @Override
@@ -96,11 +146,20 @@ public class EventServiceImpl implements IEventService {
         if (eventDetails.getPrixUnitaire() != null) event.setPrixUnitaire(eventDetails.getPrixUnitaire());
         if (eventDetails.getImageUrl() != null) event.setImageUrl(eventDetails.getImageUrl());
 
-        return eventRepository.save(event);
+        Event saved = eventRepository.save(event);
+        eventPublisher.publishEvent(new EventChangedEvent(eventId));
+        return saved;
     }
 
     @Override
     public Event getEventById(Long eventId) {
+        // Cache de second niveau d'Hibernate (région entity-events), mémoïsé dans la requête
+        return requestMemo.get(RequestMemo.EVENT, eventId, () -> eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Événement non trouvé")));
+    }
+
+    // Écritures : instance gérée par la session de cette transaction, jamais une copie partagée
+    private Event findManagedEvent(Long eventId) {
         return eventRepository.findById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Événement non trouvé"));
     }
@@ -110,9 +169,21 @@ public class EventServiceImpl implements IEventService {
         return eventRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Event> getAllEvents(String cursor, Integer limit) {
+        int size = pagination.limit(limit);
+        KeysetPagination.Cursor after = pagination.decode(cursor, false);
+        List<Event> events = pagination.getEventSort() == KeysetPagination.SortKey.DATE
+                ? eventRepository.findPageByDate(after.getDate(), after.getId(), pagination.probe(size))
+                : eventRepository.findPageById(after.getId(), pagination.probe(size));
+        return pagination.page(events, size, pagination.getEventSort(), Event::getDateDebut, Event::getId);
+    }
+
     @Override
     public List<Event> getUpcomingEvents() {
-        return eventRepository.findUpcomingEvents(LocalDateTime.now().plusMonths(1));
+        // Limite arrondie à la minute : même paramètre, donc même entrée du cache de requêtes
+        return eventRepository.findUpcomingEvents(LocalDateTime.now().plusMonths(1).truncatedTo(ChronoUnit.MINUTES));
     }
 
     @Override
@@ -138,12 +209,16 @@ public class EventServiceImpl implements IEventService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Event> searchEvents(String keyword, String location,
                                     LocalDateTime startDate, LocalDateTime endDate) {
-        if (keyword != null && !keyword.isEmpty()) {
-            return eventRepository.findByTitreContainingIgnoreCase(keyword);
+        // Période et ville par l'index d'intervalles, mot-clé par l'index plein texte
+        List<Long> ids = intervalIndex.overlapping(startDate, endDate, location);
+        if (keyword != null && !keyword.isBlank()) {
+            Set<Long> matching = new HashSet<>(searchIndex.search(keyword, location, null, null, null));
+            ids = ids.stream().filter(matching::contains).toList();
         }
-        return eventRepository.findAll();
+        return findInOrder(ids);
     }
 
     @Override
@@ -161,42 +236,52 @@ public class EventServiceImpl implements IEventService {
         }
 
         eventRepository.delete(event);
+        eventPublisher.publishEvent(new EventChangedEvent(eventId));
     }
 
     @Override
     public Event changeEventStatus(Long eventId, EventStatus newStatus) {
-        Event event = getEventById(eventId);
+        Event event = findManagedEvent(eventId);
+        boolean cancelled = newStatus == EventStatus.ANNULE && event.getStatut() != EventStatus.ANNULE;
         event.setStatut(newStatus);
-        return eventRepository.save(event);
+        Event saved = eventRepository.save(event);
+        eventPublisher.publishEvent(new EventChangedEvent(eventId));
+
+        // Les réservations sont annulées et les participants prévenus en arrière-plan, après le commit
+        if (cancelled) {
+            eventPublisher.publishEvent(new EventCancelledEvent(eventId, "Annulation par l'organisateur"));
+        }
+        return saved;
     }
 
     @Override
     public boolean isEventFull(Long eventId) {
         Event event = getEventById(eventId);
-        long reservedPlaces = reservationRepository.findAll().stream()
-                .filter(r -> r.getEvenement() != null &&
-                        r.getEvenement().getId().equals(eventId) &&
-                        (r.getStatut() == ReservationStatus.CONFIRMEE ||
-                                r.getStatut() == ReservationStatus.EN_ATTENTE))
-                .mapToLong(r -> r.getNombrePlaces() != null ? r.getNombrePlaces() : 0)
-                .sum();
-        return reservedPlaces >= event.getCapaciteMax();
+        return seatInventory.getReservedSeats(eventId) >= event.getCapaciteMax();
     }
 
     @Override
     public int getAvailableSeats(Event event) {
         if (event == null) throw new BusinessException("Événement invalide");
-        Long eventId = event.getId();
-
-        long reservedPlaces = reservationRepository.findAll().stream()
-                .filter(r -> r.getEvenement() != null &&
-                        r.getEvenement().getId().equals(eventId) &&
-                        (r.getStatut() == ReservationStatus.CONFIRMEE ||
-                                r.getStatut() == ReservationStatus.EN_ATTENTE))
-                .mapToLong(r -> r.getNombrePlaces() != null ? r.getNombrePlaces() : 0)
-                .sum();
+        return seatInventory.getAvailableSeats(event);
+    }
 
-        return (int) Math.max(0, event.getCapaciteMax() - reservedPlaces);
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Integer> getAvailableSeats(Collection<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return SeatAvailabilityMap.empty();
+        }
+        // Une seule requête pour tous les événements demandés (colonne reserved_seats)
+        List<Object[]> rows = eventRepository.findAvailableSeats(eventIds);
+        long[] ids = new long[rows.size()];
+        int[] seats = new int[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            Object[] row = rows.get(i);
+            ids[i] = (Long) row[0];
+            seats[i] = Math.max(0, ((Number) row[1]).intValue());
+        }
+        return SeatAvailabilityMap.of(ids, seats, rows.size());
     }
 
     @Override
@@ -237,65 +322,44 @@ public class EventServiceImpl implements IEventService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Event> getFeaturedEvents(int limit) {
-        try {
-            Pageable pageable = PageRequest.of(0, limit);
-            List<Object[]> results = eventRepository.findPopularEvents(pageable);
-
-            return results.stream()
-                    .map(result -> (Event) result[0])
-                    .collect(Collectors.toList());
-        } catch (Exception e) {
-            return getUpcomingEvents().stream()
-                    .limit(limit)
-                    .collect(Collectors.toList());
-        }
+        return findInOrder(trendingEvents.top(limit));
     }
 
     @Override
     public List<Event> getEventsWithFilters(String title, String location,
                                             String category, Double minPrice, Double maxPrice) {
+        EventCategory cat;
         try {
-            EventCategory cat = category != null ? EventCategory.valueOf(category.toUpperCase()) : null;
-            return eventRepository.searchEvents(title, location, cat, minPrice, maxPrice);
-        } catch (Exception e) {
-            List<Event> allEvents = eventRepository.findAll();
-
-            return allEvents.stream()
-                    .filter(event -> title == null || (event.getTitre() != null &&
-                            event.getTitre().toLowerCase().contains(title.toLowerCase())))
-                    .filter(event -> location == null ||
-                            ((event.getLieu() != null && event.getLieu().toLowerCase().contains(location.toLowerCase())) ||
-                                    (event.getVille() != null && event.getVille().toLowerCase().contains(location.toLowerCase()))))
-                    .filter(event -> category == null ||
-                            (event.getCategorie() != null && event.getCategorie().toString().equalsIgnoreCase(category)))
-                    .filter(event -> minPrice == null || (event.getPrixUnitaire() != null && event.getPrixUnitaire() >= minPrice))
-                    .filter(event -> maxPrice == null || (event.getPrixUnitaire() != null && event.getPrixUnitaire() <= maxPrice))
-                    .collect(Collectors.toList());
+            cat = category != null ? EventCategory.valueOf(category.toUpperCase()) : null;
+        } catch (IllegalArgumentException e) {
+            return List.of();
         }
+        return findInOrder(searchIndex.search(title, location, cat, minPrice, maxPrice));
     }
 
     @Override
     public Event updateEventSeats(Long eventId, int newTotalSeats) {
-        Event event = getEventById(eventId);
+        Event event = findManagedEvent(eventId);
         if (newTotalSeats <= 0) {
             throw new BusinessException("La capacité doit être positive");
         }
 
-        long reservedPlaces = reservationRepository.findAll().stream()
-                .filter(r -> r.getEvenement() != null &&
-                        r.getEvenement().getId().equals(eventId) &&
-                        (r.getStatut() == ReservationStatus.CONFIRMEE ||
-                                r.getStatut() == ReservationStatus.EN_ATTENTE))
-                .mapToLong(r -> r.getNombrePlaces() != null ? r.getNombrePlaces() : 0)
-                .sum();
+        boolean increased = newTotalSeats > event.getCapaciteMax();
 
-        if (newTotalSeats < reservedPlaces) {
+        // Vérification et modification dans le même UPDATE : une réservation concurrente
+        // ne peut pas faire passer les places réservées au-dessus de la nouvelle capacité
+        if (!seatInventory.resize(eventId, newTotalSeats)) {
             throw new BusinessException("La nouvelle capacité ne peut pas être inférieure au nombre de places déjà réservées");
         }
+        Event saved = findManagedEvent(eventId);
 
-        event.setCapaciteMax(newTotalSeats);
-        return eventRepository.save(event);
+        // Hausse de capacité : la liste d'attente est servie dans cette transaction
+        if (increased) {
+            eventPublisher.publishEvent(new SeatsReleasedEvent(eventId));
+        }
+        return saved;
     }
 
     @Override
@@ -314,6 +378,18 @@ public class EventServiceImpl implements IEventService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Event> getAvailableEvents(String cursor, Integer limit) {
+        int size = pagination.limit(limit);
+        KeysetPagination.Cursor after = pagination.decode(cursor, false);
+        LocalDateTime now = LocalDateTime.now();
+        List<Event> events = pagination.getEventSort() == KeysetPagination.SortKey.DATE
+                ? eventRepository.findAvailablePageByDate(now, after.getDate(), after.getId(), pagination.probe(size))
+                : eventRepository.findAvailablePageById(now, after.getId(), pagination.probe(size));
+        return pagination.page(events, size, pagination.getEventSort(), Event::getDateDebut, Event::getId);
+    }
+
     @Override
     public List<Event> getPopularEvents(int limit) {
         return getFeaturedEvents(limit);
@@ -322,6 +398,83 @@ public class EventServiceImpl implements IEventService {
     @Override
     public List<Event> searchEventsByFilters(String keyword, String ville,
                                              EventCategory categorie, Double prixMin, Double prixMax) {
-        return eventRepository.searchEvents(keyword, ville, categorie, prixMin, prixMax);
+        return findInOrder(searchIndex.search(keyword, ville, categorie, prixMin, prixMax));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventDTO> searchEventsByFilters(String keyword, String ville, EventCategory categorie,
+                                                Double prixMin, Double prixMax, int page, int pageSize) {
+        if (isUnfiltered(keyword, ville, categorie, prixMin, prixMax)) {
+            return eventRepository.findAvailableCards(LocalDateTime.now(), PageRequest.of(page, pageSize));
+        }
+        return cardsInOrder(searchIndex.search(keyword, ville, categorie, prixMin, prixMax, page * pageSize, pageSize));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventDTO> getFeaturedEventCards(int limit) {
+        return cardsInOrder(trendingEvents.top(limit));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public EventDTO getEventCard(Long eventId) {
+        // Page de détail d'un événement très consulté : une requête pour les lectures concurrentes
+        return singleFlight.execute(SingleFlight.EVENT_CARD, eventId, () -> eventRepository.findCardById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Événement non trouvé")));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int countEventsByFilters(String keyword, String ville,
+                                    EventCategory categorie, Double prixMin, Double prixMax) {
+        if (isUnfiltered(keyword, ville, categorie, prixMin, prixMax)) {
+            return Math.toIntExact(eventRepository.countAvailable(LocalDateTime.now()));
+        }
+        return searchIndex.count(keyword, ville, categorie, prixMin, prixMax);
+    }
+
+    private boolean isUnfiltered(String keyword, String ville, EventCategory categorie, Double prixMin, Double prixMax) {
+        return (keyword == null || keyword.isBlank()) && (ville == null || ville.isBlank())
+                && categorie == null && prixMin == null && prixMax == null;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FacetCountsDTO getEventFacets(String keyword, String ville,
+                                         EventCategory categorie, Double prixMin, Double prixMax) {
+        // Le mot-clé passe par l'index plein texte, les autres filtres par les bitsets
+        BitSet matchingKeyword = null;
+        if (keyword != null && !keyword.isBlank()) {
+            matchingKeyword = new BitSet();
+            for (Long id : searchIndex.search(keyword, null, null, null, null)) {
+                matchingKeyword.set(Math.toIntExact(id));
+            }
+        }
+        return facetIndex.count(matchingKeyword, ville, categorie, prixMin, prixMax);
+    }
+
+    // Projections des événements trouvés, dans l'ordre des identifiants donnés
+    private List<EventDTO> cardsInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, EventDTO> cardsById = eventRepository.findCardsByIds(ids).stream()
+                .collect(Collectors.toMap(EventDTO::getId, e -> e));
+        return ids.stream()
+                .map(cardsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    // Charge les événements trouvés par l'index en conservant l'ordre de pertinence
+    private List<Event> findInOrder(List<Long> ids) {
+        Map<Long, Event> eventsById = eventRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Event::getId, e -> e));
+        return ids.stream()
+                .map(eventsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 }
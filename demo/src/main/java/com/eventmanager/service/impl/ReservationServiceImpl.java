@@ -1,70 +1,127 @@
 package com.eventmanager.service.impl;
 
+import com.eventmanager.dto.CursorPage;
 import com.eventmanager.entity.Event;
 import com.eventmanager.entity.Reservation;
 import com.eventmanager.entity.User;
+import com.eventmanager.enums.EventStatus;
 import com.eventmanager.enums.ReservationStatus;
 import com.eventmanager.exception.BusinessException;
 import com.eventmanager.exception.ResourceNotFoundException;
 import com.eventmanager.repository.EventRepository;
 import com.eventmanager.repository.ReservationRepository;
 import com.eventmanager.repository.UserRepository;
+import com.eventmanager.service.CapacityValidator;
+import com.eventmanager.service.EmailService;
 import com.eventmanager.service.IEventService;
 import com.eventmanager.service.IReservationService;
 import com.eventmanager.service.IUserService;
+import com.eventmanager.service.KeysetPagination;
+import com.eventmanager.service.ReservationCodeGenerator;
+import com.eventmanager.service.SeatHoldService;
+import com.eventmanager.service.SeatInventory;
+import com.eventmanager.service.WaitingRoomService;
+import com.eventmanager.service.WaitlistService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalLong;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class ReservationServiceImpl implements IReservationService {
 
+    private static final int EXPIRATION_BATCH_SIZE = 500;
+
     private final ReservationRepository reservationRepository;
     private final UserRepository userRepository;
     private final EventRepository eventRepository;
     private final IEventService eventService;
     private final IUserService userService;
+    private final SeatInventory seatInventory;
+    private final CapacityValidator capacityValidator;
+    private final SeatHoldService seatHoldService;
+    private final WaitingRoomService waitingRoomService;
+    private final WaitlistService waitlistService;
+    private final ReservationCodeGenerator codeGenerator;
+    private final EmailService emailService;
+    private final KeysetPagination pagination;
 
     @Autowired
     public ReservationServiceImpl(ReservationRepository reservationRepository,
                                   UserRepository userRepository,
                                   EventRepository eventRepository,
                                   IEventService eventService,
-                                  IUserService userService) {
+                                  IUserService userService,
+                                  SeatInventory seatInventory,
+                                  CapacityValidator capacityValidator,
+                                  SeatHoldService seatHoldService,
+                                  WaitingRoomService waitingRoomService,
+                                  WaitlistService waitlistService,
+                                  ReservationCodeGenerator codeGenerator,
+                                  EmailService emailService,
+                                  KeysetPagination pagination) {
         this.reservationRepository = reservationRepository;
         this.userRepository = userRepository;
         this.eventRepository = eventRepository;
         this.eventService = eventService;
         this.userService = userService;
+        this.seatInventory = seatInventory;
+        this.capacityValidator = capacityValidator;
+        this.seatHoldService = seatHoldService;
+        this.waitingRoomService = waitingRoomService;
+        this.waitlistService = waitlistService;
+        this.codeGenerator = codeGenerator;
+        this.emailService = emailService;
+        this.pagination = pagination;
     }
 
     @Override
     public Reservation createReservation(Long userId, Long eventId, int nombrePlaces) {
+        if (nombrePlaces <= 0) {
+            throw new BusinessException("Le nombre de places doit être positif");
+        }
+
+        // Salle d'attente : seules les tentatives admises passent quand elle est active ;
+        // l'admission est rendue si la réservation échoue (rollback)
+        waitingRoomService.checkAdmission(eventId, userId);
+
         User user = userService.getUserById(userId);
+        // Mémoïsé par getEventById : isEventFull relit le même événement
         Event event = eventService.getEventById(eventId);
 
+        if (event.getStatut() == EventStatus.ANNULE) {
+            throw new BusinessException("Cet événement a été annulé");
+        }
+
         // Vérifier si l'événement est disponible
         if (eventService.isEventFull(event.getId())) {
-            throw new BusinessException("L'événement est complet");
+            throw new BusinessException("L'événement est complet, vous pouvez rejoindre la liste d'attente");
         }
 
         // Vérifier les places disponibles
-        int availableSeats = eventService.getAvailableSeats(event);
-        if (nombrePlaces > availableSeats) {
-            throw new BusinessException("Nombre de places insuffisant. Places disponibles: " + availableSeats);
-        }
+        capacityValidator.checkCapacity(event, nombrePlaces);
 
         // Vérifier si l'événement est à venir
         if (event.getDateDebut().isBefore(LocalDateTime.now())) {
             throw new BusinessException("Impossible de réserver pour un événement passé");
         }
 
+        // Réserver les places : un seul UPDATE conditionnel vérifie et bloque la capacité
+        if (!seatInventory.claim(event.getId(), nombrePlaces)) {
+            throw new BusinessException("Nombre de places insuffisant. Places disponibles: "
+                    + seatInventory.getAvailableSeats(event));
+        }
+
         // Créer la réservation
         Reservation reservation = new Reservation();
         reservation.setUtilisateur(user);
@@ -72,7 +129,68 @@ public class ReservationServiceImpl implements IReservationService {
         reservation.setNombrePlaces(nombrePlaces);
         reservation.setStatut(ReservationStatus.EN_ATTENTE);
 
-        return reservationRepository.save(reservation);
+        Reservation saved = reservationRepository.save(reservation);
+        seatHoldService.hold(saved);
+        return saved;
+    }
+
+    /**
+     * Réserve plusieurs événements en une seule transaction, tout ou rien.
+     * Les places sont bloquées par ordre croissant d'identifiant d'événement pour que
+     * deux commandes concurrentes verrouillent les lignes events dans le même ordre,
+     * puis les réservations sont insérées en lot (hibernate.jdbc.batch_size).
+     */
+    @Override
+    public List<Reservation> createReservations(Long userId, Map<Long, Integer> placesParEvenement) {
+        if (placesParEvenement == null || placesParEvenement.isEmpty()) {
+            throw new BusinessException("Aucun événement sélectionné");
+        }
+
+        // Vérifiées avant toute admission ou place bloquée
+        for (Integer places : placesParEvenement.values()) {
+            if (places == null || places <= 0) {
+                throw new BusinessException("Le nombre de places doit être positif");
+            }
+        }
+
+        User user = userService.getUserById(userId);
+        SortedMap<Long, Integer> commande = new TreeMap<>(placesParEvenement);
+        Map<Long, Event> events = eventRepository.findAllById(commande.keySet()).stream()
+                .collect(Collectors.toMap(Event::getId, e -> e));
+
+        List<Reservation> reservations = new ArrayList<>(commande.size());
+        for (Map.Entry<Long, Integer> ligne : commande.entrySet()) {
+            Event event = events.get(ligne.getKey());
+            if (event == null) {
+                throw new ResourceNotFoundException("Événement non trouvé avec l'ID: " + ligne.getKey());
+            }
+            int nombrePlaces = ligne.getValue();
+
+            // Rendue au rollback si une autre ligne de la commande échoue
+            waitingRoomService.checkAdmission(event.getId(), userId);
+
+            if (event.getStatut() == EventStatus.ANNULE) {
+                throw new BusinessException("L'événement " + event.getTitre() + " a été annulé");
+            }
+            if (event.getDateDebut().isBefore(LocalDateTime.now())) {
+                throw new BusinessException("Impossible de réserver pour un événement passé : " + event.getTitre());
+            }
+            capacityValidator.checkCapacity(event, nombrePlaces);
+
+            // Un échec annule toute la commande : les places déjà bloquées sont restituées au rollback
+            if (!seatInventory.claim(event.getId(), nombrePlaces)) {
+                throw new BusinessException("Nombre de places insuffisant pour " + event.getTitre()
+                        + ". Places disponibles: " + seatInventory.getAvailableSeats(event));
+            }
+
+            Reservation reservation = new Reservation(user, event, nombrePlaces);
+            reservation.setStatut(ReservationStatus.EN_ATTENTE);
+            reservations.add(reservation);
+        }
+
+        List<Reservation> saved = reservationRepository.saveAll(reservations);
+        saved.forEach(seatHoldService::hold);
+        return saved;
     }
 
     @Override
@@ -86,12 +204,21 @@ public class ReservationServiceImpl implements IReservationService {
 
         reservation.setStatut(status);
 
+        if (status == ReservationStatus.ANNULEE) {
+            seatInventory.release(reservation.getEvenement().getId(), reservation.getNombrePlaces());
+        }
+
+        // Les places d'une réservation en attente sont déjà bloquées (claim à la création)
         if (status == ReservationStatus.CONFIRMEE) {
             Event event = reservation.getEvenement();
-            int availableSeats = eventService.getAvailableSeats(event);
-            if (reservation.getNombrePlaces() > availableSeats) {
-                throw new BusinessException("Pas assez de places disponibles pour confirmer cette réservation");
-            }
+            // Envoyé de façon asynchrone, après le commit
+            User user = reservation.getUtilisateur();
+            emailService.sendReservationConfirmation(user.getEmail(), reservation.getCodeReservation(),
+                    event.getTitre(), user.getPrenom() + " " + user.getNom());
+        }
+
+        if (status != ReservationStatus.EN_ATTENTE) {
+            seatHoldService.cancelHold(reservationId);
         }
 
         return reservationRepository.save(reservation);
@@ -99,7 +226,23 @@ public class ReservationServiceImpl implements IReservationService {
 
     @Override
     public Reservation getReservationById(Long reservationId) {
-        return reservationRepository.findById(reservationId)
+        return reservationRepository.findWithDetailsById(reservationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Réservation non trouvée"));
+    }
+
+    @Override
+    public Reservation getReservationByCode(String codeReservation) {
+        // Code contrôlé hors ligne : lecture directe par clé primaire
+        OptionalLong reservationId = codeGenerator.decode(codeReservation);
+        if (reservationId.isPresent()) {
+            String canonicalCode = codeGenerator.generate(reservationId.getAsLong());
+            return reservationRepository.findById(reservationId.getAsLong())
+                    .filter(r -> canonicalCode.equals(r.getCodeReservation()))
+                    .orElseThrow(() -> new ResourceNotFoundException("Réservation non trouvée"));
+        }
+
+        // Anciens codes (UUID) : recherche par l'index du code
+        return reservationRepository.findByCodeReservation(codeReservation != null ? codeReservation.trim() : null)
                 .orElseThrow(() -> new ResourceNotFoundException("Réservation non trouvée"));
     }
 
@@ -108,7 +251,7 @@ public class ReservationServiceImpl implements IReservationService {
         userService.getUserById(userId);
 
         try {
-            return reservationRepository.findByUtilisateurId(userId);
+            return reservationRepository.findWithDetailsByUtilisateurId(userId);
         } catch (Exception e) {
             return reservationRepository.findAll()
                     .stream()
@@ -117,12 +260,25 @@ public class ReservationServiceImpl implements IReservationService {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Reservation> getReservationsByUser(Long userId, String cursor, Integer limit) {
+        userService.getUserById(userId);
+
+        int size = pagination.limit(limit);
+        KeysetPagination.Cursor after = pagination.decode(cursor, true);
+        List<Reservation> reservations = pagination.getReservationSort() == KeysetPagination.SortKey.DATE
+                ? reservationRepository.findPageByUtilisateurIdAndDate(userId, after.getDate(), after.getId(), pagination.probe(size))
+                : reservationRepository.findPageByUtilisateurIdAndId(userId, after.getId(), pagination.probe(size));
+        return reservationPage(reservations, size);
+    }
+
     @Override
     public List<Reservation> getReservationsByEvent(Long eventId) {
         Event event = eventService.getEventById(eventId);
 
         try {
-            return reservationRepository.findByEvenementId(eventId);
+            return reservationRepository.findWithDetailsByEvenementId(eventId);
         } catch (Exception e) {
             return reservationRepository.findAll()
                     .stream()
@@ -143,6 +299,17 @@ public class ReservationServiceImpl implements IReservationService {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Reservation> getReservationsByStatus(ReservationStatus status, String cursor, Integer limit) {
+        int size = pagination.limit(limit);
+        KeysetPagination.Cursor after = pagination.decode(cursor, true);
+        List<Reservation> reservations = pagination.getReservationSort() == KeysetPagination.SortKey.DATE
+                ? reservationRepository.findPageByStatutAndDate(status, after.getDate(), after.getId(), pagination.probe(size))
+                : reservationRepository.findPageByStatutAndId(status, after.getId(), pagination.probe(size));
+        return reservationPage(reservations, size);
+    }
+
     @Override
     public void cancelReservation(Long reservationId) {
         Reservation reservation = reservationRepository.findById(reservationId)
@@ -157,6 +324,8 @@ public class ReservationServiceImpl implements IReservationService {
         }
 
         reservation.setStatut(ReservationStatus.ANNULEE);
+        seatInventory.release(reservation.getEvenement().getId(), reservation.getNombrePlaces());
+        seatHoldService.cancelHold(reservationId);
         String commentaire = reservation.getCommentaire() != null ?
                 reservation.getCommentaire() + " | Annulée le " + LocalDateTime.now() :
                 "Annulée le " + LocalDateTime.now();
@@ -183,6 +352,12 @@ public class ReservationServiceImpl implements IReservationService {
         return eventService.getAvailableSeats(event);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Integer> getAvailableSeats(Collection<Long> eventIds) {
+        return eventService.getAvailableSeats(eventIds);
+    }
+
     @Override
     public double calculateReservationAmount(Long reservationId) {
         Reservation reservation = getReservationById(reservationId);
@@ -248,8 +423,31 @@ public class ReservationServiceImpl implements IReservationService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Reservation> searchReservations(String keyword, String cursor, Integer limit) {
+        String pattern = keyword == null || keyword.isBlank() ? "%" : "%" + keyword.trim().toLowerCase() + "%";
+
+        int size = pagination.limit(limit);
+        KeysetPagination.Cursor after = pagination.decode(cursor, true);
+        List<Reservation> reservations = pagination.getReservationSort() == KeysetPagination.SortKey.DATE
+                ? reservationRepository.searchPageByDate(pattern, after.getDate(), after.getId(), pagination.probe(size))
+                : reservationRepository.searchPageById(pattern, after.getId(), pagination.probe(size));
+        return reservationPage(reservations, size);
+    }
+
+    private CursorPage<Reservation> reservationPage(List<Reservation> reservations, int size) {
+        return pagination.page(reservations, size, pagination.getReservationSort(),
+                Reservation::getDateReservation, Reservation::getId);
+    }
+
     @Override
     public Reservation updateReservation(Long reservationId, int newNombrePlaces) {
+        // Sinon release rendrait plus de places que la réservation n'en a bloqué
+        if (newNombrePlaces <= 0) {
+            throw new BusinessException("Le nombre de places doit être positif");
+        }
+
         Reservation reservation = reservationRepository.findById(reservationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Réservation non trouvée"));
 
@@ -266,10 +464,12 @@ public class ReservationServiceImpl implements IReservationService {
         int difference = newNombrePlaces - reservation.getNombrePlaces();
 
         if (difference > 0) {
-            int availableSeats = eventService.getAvailableSeats(event);
-            if (difference > availableSeats) {
+            capacityValidator.checkCapacity(event, difference);
+            if (!seatInventory.claim(event.getId(), difference)) {
                 throw new BusinessException("Pas assez de places disponibles");
             }
+        } else if (difference < 0) {
+            seatInventory.release(event.getId(), -difference);
         }
 
         reservation.setNombrePlaces(newNombrePlaces);
@@ -277,6 +477,27 @@ public class ReservationServiceImpl implements IReservationService {
         return reservationRepository.save(reservation);
     }
 
+    @Override
+    public int joinWaitlist(Long userId, Long eventId, int nombrePlaces) {
+        User user = userService.getUserById(userId);
+        Event event = eventService.getEventById(eventId);
+
+        if (nombrePlaces <= 0) {
+            throw new BusinessException("Le nombre de places doit être positif");
+        }
+        if (event.getDateDebut().isBefore(LocalDateTime.now())) {
+            throw new BusinessException("Impossible de rejoindre la liste d'attente d'un événement passé");
+        }
+        if (nombrePlaces > event.getCapaciteMax()) {
+            throw new BusinessException("Le nombre de places demandé dépasse la capacité de l'événement");
+        }
+        if (seatInventory.getAvailableSeats(event) >= nombrePlaces) {
+            throw new BusinessException("Des places sont encore disponibles, vous pouvez réserver directement");
+        }
+
+        return waitlistService.join(event.getId(), user.getId(), nombrePlaces);
+    }
+
     public List<Reservation> getActiveReservationsForEvent(Long eventId) {
         return getReservationsByEvent(eventId)
                 .stream()
@@ -285,21 +506,13 @@ public class ReservationServiceImpl implements IReservationService {
                 .collect(Collectors.toList());
     }
 
+    // Balayage de secours : les échéances sont normalement traitées au fil de l'eau par SeatHoldService
     public void processExpiredReservations() {
-        LocalDateTime expirationTime = LocalDateTime.now().minusHours(24);
+        LocalDateTime expirationTime = LocalDateTime.now().minus(seatHoldService.getTtl());
+        List<Long> expiredIds = reservationRepository.findPendingReservationIdsOlderThan(expirationTime);
 
-        reservationRepository.findAll()
-                .stream()
-                .filter(r -> r.getStatut() == ReservationStatus.EN_ATTENTE &&
-                        r.getDateReservation() != null &&
-                        r.getDateReservation().isBefore(expirationTime))
-                .forEach(reservation -> {
-                    reservation.setStatut(ReservationStatus.ANNULEE);
-                    String commentaire = reservation.getCommentaire() != null ?
-                            reservation.getCommentaire() + " | Réservation expirée le " + LocalDateTime.now() :
-                            "Réservation expirée le " + LocalDateTime.now();
-                    reservation.setCommentaire(commentaire);
-                    reservationRepository.save(reservation);
-                });
+        for (int from = 0; from < expiredIds.size(); from += EXPIRATION_BATCH_SIZE) {
+            seatHoldService.expire(expiredIds.subList(from, Math.min(from + EXPIRATION_BATCH_SIZE, expiredIds.size())));
+        }
     }
 }
@@ -1,5 +1,6 @@
 package com.eventmanager.service.impl;
 
+import com.eventmanager.config.CacheConfig;
 import com.eventmanager.entity.User;
 import com.eventmanager.enums.UserRole;
 import com.eventmanager.exception.ConflictException;
@@ -9,7 +10,11 @@ import com.eventmanager.repository.ReservationRepository;
 import com.eventmanager.repository.UserRepository;
 import com.eventmanager.service.IUserService;
 import com.eventmanager.service.SecurityService;
+import com.eventmanager.service.UserChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,19 +33,23 @@ public class UserServiceImpl implements IUserService {
     private final EventRepository eventRepository;
     private final ReservationRepository reservationRepository;
     private final SecurityService securityService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public UserServiceImpl(UserRepository userRepository,
                            EventRepository eventRepository,
                            ReservationRepository reservationRepository,
-                           SecurityService securityService) {
+                           SecurityService securityService,
+                           ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.eventRepository = eventRepository;
         this.reservationRepository = reservationRepository;
         this.securityService = securityService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.USER_COUNTS, allEntries = true)
     public User registerUser(String nom, String prenom, String email,
                              String password, String telephone, UserRole role) {
 
@@ -92,6 +101,8 @@ public class UserServiceImpl implements IUserService {
             user.setTelephone(telephone.trim());
         }
 
+        // Copies de l'utilisateur connecté (requête, sessions) à relire
+        eventPublisher.publishEvent(new UserChangedEvent(userId, user.getEmail()));
         return userRepository.save(user);
     }
 
@@ -121,6 +132,7 @@ public class UserServiceImpl implements IUserService {
                 .orElseThrow(() -> new ResourceNotFoundException("Utilisateur non trouvé"));
 
         user.setActif(active);
+        eventPublisher.publishEvent(new UserChangedEvent(userId, user.getEmail()));
         return userRepository.save(user);
     }
 
@@ -219,21 +231,25 @@ public class UserServiceImpl implements IUserService {
     }
 
     @Override
+    @Cacheable(CacheConfig.USER_COUNTS)
     public Map<UserRole, Long> countUsersByRole() {
+        // Copie non modifiable : la même map est rendue à tous les appelants du cache
         return userRepository.findAll()
                 .stream()
-                .collect(Collectors.groupingBy(
+                .collect(Collectors.collectingAndThen(Collectors.groupingBy(
                         User::getRole,
                         Collectors.counting()
-                ));
+                ), Map::copyOf));
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.USER_COUNTS, allEntries = true)
     public User updateUserRole(Long userId, UserRole newRole) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Utilisateur non trouvé"));
 
         user.setRole(newRole);
+        eventPublisher.publishEvent(new UserChangedEvent(userId, user.getEmail()));
         return userRepository.save(user);
     }
 }
\ No newline at end of file
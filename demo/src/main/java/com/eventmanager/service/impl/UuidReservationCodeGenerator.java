@@ -0,0 +1,24 @@
+package com.eventmanager.service.impl;
+
+import com.eventmanager.service.ReservationCodeGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.OptionalLong;
+import java.util.UUID;
+
+// Ancien format EVT-XXXXXXXX tiré d'un UUID aléatoire : aucun identifiant à décoder
+@Component
+@ConditionalOnProperty(name = "reservation.code.generator", havingValue = "uuid")
+public class UuidReservationCodeGenerator implements ReservationCodeGenerator {
+
+    @Override
+    public String generate(long reservationId) {
+        return "EVT-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+
+    @Override
+    public OptionalLong decode(String code) {
+        return OptionalLong.empty();
+    }
+}
@@ -1,7 +1,7 @@
 package com.eventmanager.view;
 
-import com.eventmanager.entity.User;
 import com.eventmanager.enums.UserRole;
+import com.eventmanager.security.AuthenticatedPrincipal;
 import com.eventmanager.security.AuthenticatedUser;
 import com.vaadin.flow.component.applayout.AppLayout;
 import com.vaadin.flow.component.applayout.DrawerToggle;
@@ -53,9 +53,9 @@ public class MainLayout extends AppLayout {
                 LumoUtility.Padding.Horizontal.MEDIUM
         );
 
-        Optional<User> maybeUser = authenticatedUser.get();
+        Optional<AuthenticatedPrincipal> maybeUser = authenticatedUser.getPrincipal();
         if (maybeUser.isPresent()) {
-            User user = maybeUser.get();
+            AuthenticatedPrincipal user = maybeUser.get();
 
             Avatar avatar = new Avatar(user.getPrenom() + " " + user.getNom());
             String initials = user.getPrenom().substring(0, 1) + user.getNom().substring(0, 1);
@@ -99,7 +99,7 @@ public class MainLayout extends AppLayout {
     private SideNav createNavigation() {
         SideNav nav = new SideNav();
 
-        Optional<User> maybeUser = authenticatedUser.get();
+        Optional<AuthenticatedPrincipal> maybeUser = authenticatedUser.getPrincipal();
 
         if (maybeUser.isEmpty()) {
             // Utilisation de chemins de route comme chaînes de caractères
@@ -108,7 +108,7 @@ public class MainLayout extends AppLayout {
             nav.addItem(new SideNavItem("Connexion", "login", VaadinIcon.SIGN_IN.create()));
             nav.addItem(new SideNavItem("Inscription", "register", VaadinIcon.USER_CHECK.create()));
         } else {
-            User user = maybeUser.get();
+            AuthenticatedPrincipal user = maybeUser.get();
             UserRole userRole = user.getRole();
 
             nav.addItem(new SideNavItem("Accueil", "", VaadinIcon.HOME.create()));
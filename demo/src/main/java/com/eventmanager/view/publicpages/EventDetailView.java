@@ -1,14 +1,22 @@
 package com.eventmanager.view.publicpages;
 
-import com.eventmanager.entity.Event;
+import com.eventmanager.dto.EventDTO;
+import com.eventmanager.dto.QueuePositionDTO;
 import com.eventmanager.enums.EventStatus;
+import com.eventmanager.exception.BusinessException;
+import com.eventmanager.exception.ResourceNotFoundException;
 import com.eventmanager.service.IEventService;
+import com.eventmanager.service.IReservationService;
+import com.eventmanager.service.RequestMemo;
+import com.eventmanager.service.WaitingRoomService;
 import com.eventmanager.view.MainLayout;
-import com.eventmanager.repository.EventRepository;
 import com.eventmanager.security.AuthenticatedUser;
 import com.eventmanager.security.NavigationManager;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
+import com.vaadin.flow.component.checkbox.Checkbox;
+import com.vaadin.flow.component.dialog.Dialog;
 import com.vaadin.flow.component.html.H1;
 import com.vaadin.flow.component.html.H3;
 import com.vaadin.flow.component.html.Paragraph;
@@ -18,6 +26,7 @@ import com.vaadin.flow.component.notification.Notification;
 import com.vaadin.flow.component.notification.NotificationVariant;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.textfield.IntegerField;
 import com.vaadin.flow.router.BeforeEvent;
 import com.vaadin.flow.router.HasUrlParameter;
 import com.vaadin.flow.router.PageTitle;
@@ -31,21 +40,27 @@ import java.time.format.DateTimeFormatter;
 @AnonymousAllowed
 public class EventDetailView extends VerticalLayout implements HasUrlParameter<Long> {
 
-    private final EventRepository eventRepository;
     private final IEventService eventService;
+    private final IReservationService reservationService;
     private final NavigationManager navigationManager;
     private final AuthenticatedUser authenticatedUser;
+    private final WaitingRoomService waitingRoomService;
+    private final RequestMemo requestMemo;
 
-    private Event event;
+    private EventDTO event;
 
-    public EventDetailView(EventRepository eventRepository,
-                           IEventService eventService,
+    public EventDetailView(IEventService eventService,
+                           IReservationService reservationService,
                            NavigationManager navigationManager,
-                           AuthenticatedUser authenticatedUser) {
-        this.eventRepository = eventRepository;
+                           AuthenticatedUser authenticatedUser,
+                           WaitingRoomService waitingRoomService,
+                           RequestMemo requestMemo) {
         this.eventService = eventService;
+        this.reservationService = reservationService;
         this.navigationManager = navigationManager;
         this.authenticatedUser = authenticatedUser;
+        this.waitingRoomService = waitingRoomService;
+        this.requestMemo = requestMemo;
 
         setSizeFull();
         setPadding(true);
@@ -54,10 +69,10 @@ public class EventDetailView extends VerticalLayout implements HasUrlParameter<L
 
     @Override
     public void setParameter(BeforeEvent beforeEvent, Long eventId) {
-        // Récupérer l'événement par ID
-        this.event = eventRepository.findById(eventId).orElse(null);
-
-        if (this.event == null) {
+        // Récupérer l'événement par ID (projection : colonnes affichées et places réservées)
+        try {
+            this.event = eventService.getEventCard(eventId);
+        } catch (ResourceNotFoundException e) {
             showError("Événement non trouvé");
             navigationManager.navigateToEvents();
             return;
@@ -146,9 +161,8 @@ public class EventDetailView extends VerticalLayout implements HasUrlParameter<L
         HorizontalLayout capacityInfo = createInfoRow(VaadinIcon.USERS, "Capacité maximale",
                 event.getCapaciteMax() + " places");
 
-        // Places disponibles via eventService
         HorizontalLayout availableInfo = createInfoRow(VaadinIcon.CHECK_CIRCLE, "Places disponibles",
-                eventService.getAvailableSeats(event) + " places");
+                event.getPlacesDisponibles() + " places");
 
         infoSection.add(infoTitle, dateInfo, endDateInfo, locationInfo, capacityInfo, availableInfo);
 
@@ -178,14 +192,35 @@ public class EventDetailView extends VerticalLayout implements HasUrlParameter<L
         reserveButton.addClickListener(e -> handleReservation());
 
         // Désactiver si pas de places disponibles ou événement non publié
-        if (eventService.getAvailableSeats(event) <= 0 || event.getStatut() != EventStatus.PUBLIE) {
+        if (event.getPlacesDisponibles() <= 0 || event.getStatut() != EventStatus.PUBLIE) {
             reserveButton.setEnabled(false);
             reserveButton.setText("Indisponible");
         }
 
-
         priceSection.add(priceTitle, price, pricePerPlace, reserveButton);
 
+        // Événement complet : inscription sur la liste d'attente
+        if (event.getPlacesDisponibles() <= 0 && event.getStatut() == EventStatus.PUBLIE) {
+            Button waitlistButton = new Button("Rejoindre la liste d'attente", VaadinIcon.CLOCK.create());
+            waitlistButton.addThemeVariants(ButtonVariant.LUMO_CONTRAST);
+            waitlistButton.addClickListener(e -> handleWaitlist());
+            priceSection.add(waitlistButton);
+        }
+
+        // Administration : activation de la file d'attente pour les ventes très demandées
+        if (authenticatedUser.isAdmin()) {
+            Checkbox waitingRoomToggle = new Checkbox("File d'attente virtuelle",
+                    waitingRoomService.isEnabled(event.getId()));
+            waitingRoomToggle.addValueChangeListener(e -> {
+                if (e.getValue()) {
+                    waitingRoomService.enable(event.getId());
+                } else {
+                    waitingRoomService.disable(event.getId());
+                }
+            });
+            priceSection.add(waitingRoomToggle);
+        }
+
         // Organisateur
         VerticalLayout organizerSection = new VerticalLayout();
         organizerSection.setPadding(true);
@@ -196,8 +231,7 @@ public class EventDetailView extends VerticalLayout implements HasUrlParameter<L
         H3 organizerTitle = new H3("👤 Organisateur");
         organizerTitle.getStyle().set("margin", "0");
 
-        String organizerName = event.getOrganisateur().getPrenom() + " " + event.getOrganisateur().getNom();
-        Paragraph organizerInfo = new Paragraph(organizerName);
+        Paragraph organizerInfo = new Paragraph(event.getOrganisateurNom());
         organizerInfo.getStyle().set("font-weight", "500");
 
         organizerSection.add(organizerTitle, organizerInfo);
@@ -233,9 +267,101 @@ public class EventDetailView extends VerticalLayout implements HasUrlParameter<L
             return;
         }
 
+        if (waitingRoomService.isEnabled(event.getId())) {
+            authenticatedUser.getUserId().ifPresent(this::joinWaitingRoom);
+            return;
+        }
+
         navigationManager.navigateToReservation(event.getId());
     }
 
+    private void handleWaitlist() {
+        if (!authenticatedUser.isAuthenticated()) {
+            showError("Vous devez être connecté pour rejoindre la liste d'attente");
+            navigationManager.navigateToLogin();
+            return;
+        }
+
+        Dialog dialog = new Dialog();
+        dialog.setHeaderTitle("📝 Liste d'attente");
+
+        Paragraph info = new Paragraph("Vous serez prévenu par email dès que des places se libèrent ; " +
+                "elles vous seront réservées automatiquement.");
+        IntegerField placesField = new IntegerField("Nombre de places");
+        placesField.setValue(1);
+        placesField.setMin(1);
+        placesField.setMax(event.getCapaciteMax());
+        placesField.setStepButtonsVisible(true);
+
+        Button confirmButton = new Button("S'inscrire", e -> authenticatedUser.getUserId().ifPresent(userId -> {
+            try {
+                int places = placesField.getValue() != null ? placesField.getValue() : 1;
+                int position = reservationService.joinWaitlist(userId, event.getId(), places);
+                dialog.close();
+                showSuccess("Vous êtes en position " + position + " sur la liste d'attente");
+            } catch (BusinessException ex) {
+                showError(ex.getMessage());
+            }
+        }));
+        confirmButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
+        Button cancelButton = new Button("Annuler", e -> dialog.close());
+
+        dialog.add(info, placesField);
+        dialog.getFooter().add(cancelButton, confirmButton);
+        dialog.open();
+    }
+
+    private void joinWaitingRoom(Long userId) {
+        QueuePositionDTO ticket;
+        try {
+            ticket = waitingRoomService.join(event.getId(), userId);
+        } catch (BusinessException e) {
+            showError(e.getMessage());
+            return;
+        }
+
+        if (ticket.isAdmis()) {
+            navigationManager.navigateToReservation(event.getId());
+            return;
+        }
+
+        Dialog dialog = new Dialog();
+        dialog.setHeaderTitle("⏳ File d'attente");
+        dialog.setCloseOnOutsideClick(false);
+
+        Paragraph info = new Paragraph("Forte affluence pour cet événement. " +
+                "Vous serez redirigé automatiquement vers la réservation.");
+        Span positionSpan = new Span(formatPosition(ticket.getPosition()));
+        positionSpan.getStyle()
+                .set("font-size", "var(--lumo-font-size-xl)")
+                .set("font-weight", "bold");
+        dialog.add(info, positionSpan);
+
+        // Position mise à jour en direct (push) depuis le thread d'admission ; hors requête HTTP,
+        // la navigation vers la réservation a sa propre portée de mémoïsation
+        UI ui = UI.getCurrent();
+        Runnable unsubscribe = waitingRoomService.addPositionListener(event.getId(), ticket.getToken(),
+                position -> ui.access(() -> requestMemo.run(() -> {
+                    if (position.isAdmis()) {
+                        dialog.close();
+                        navigationManager.navigateToReservation(event.getId());
+                    } else {
+                        positionSpan.setText(formatPosition(position.getPosition()));
+                    }
+                })));
+        dialog.addDetachListener(e -> unsubscribe.run());
+        dialog.open();
+    }
+
+    private String formatPosition(int position) {
+        return "Votre position : " + position;
+    }
+
+    private void showSuccess(String message) {
+        Notification notification = Notification.show(message, 3000, Notification.Position.TOP_CENTER);
+        notification.addThemeVariants(NotificationVariant.LUMO_SUCCESS);
+    }
+
     private void showError(String message) {
         Notification notification = Notification.show(message, 3000, Notification.Position.TOP_CENTER);
         notification.addThemeVariants(NotificationVariant.LUMO_ERROR);
@@ -1,13 +1,16 @@
 package com.eventmanager.view.publicpages;
 
-import com.eventmanager.entity.Event;
+import com.eventmanager.dto.EventDTO;
+import com.eventmanager.dto.FacetCountsDTO;
 import com.eventmanager.enums.EventCategory;
+import com.eventmanager.service.EventTypeaheadIndex;
 import com.eventmanager.service.IEventService;
 import com.eventmanager.view.MainLayout;
 import com.eventmanager.security.NavigationManager;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.combobox.ComboBox;
+import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.H2;
 import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.icon.VaadinIcon;
@@ -15,32 +18,64 @@ import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.textfield.NumberField;
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.component.virtuallist.VirtualList;
+import com.vaadin.flow.data.provider.CallbackDataProvider;
+import com.vaadin.flow.data.provider.Query;
+import com.vaadin.flow.data.renderer.ComponentRenderer;
+import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.server.auth.AnonymousAllowed;
 
 import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Route(value = "events", layout = MainLayout.class)
 @PageTitle("Événements - Event Manager")
 @AnonymousAllowed
 public class EventListView extends VerticalLayout {
 
+    private static final int MAX_SUGGESTIONS = 8;
+    private static final int MAX_VILLES_AFFICHEES = 5;
+    private static final int PAGE_SIZE = 30;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy à HH:mm");
+
     private final IEventService eventService;
     private final NavigationManager navigationManager;
+    private final EventTypeaheadIndex typeaheadIndex;
 
     private TextField searchField;
     private TextField villeField;
     private ComboBox<EventCategory> categorieCombo;
     private NumberField prixMinField;
     private NumberField prixMaxField;
+    private Span facetsSummary;
+    private Map<EventCategory, Integer> categoryCounts = new EnumMap<>(EventCategory.class);
+
+    // Filtres appliqués à la liste ; les champs peuvent avoir changé depuis
+    private String currentKeyword;
+    private String currentVille;
+    private EventCategory currentCategorie;
+    private Double currentPrixMin;
+    private Double currentPrixMax;
 
-    private VerticalLayout eventsContainer;
+    private VirtualList<EventDTO> eventsList;
+    private CallbackDataProvider<EventDTO, Void> eventsProvider;
+    private Span emptyMessage;
+    // Places disponibles des fenêtres chargées, lues par lot dans fetchEvents
+    private final Map<Long, Integer> availableSeats = new HashMap<>();
 
-    public EventListView(IEventService eventService, NavigationManager navigationManager) {
+    public EventListView(IEventService eventService, NavigationManager navigationManager,
+                         EventTypeaheadIndex typeaheadIndex) {
         this.eventService = eventService;
         this.navigationManager = navigationManager;
+        this.typeaheadIndex = typeaheadIndex;
 
         setSizeFull();
         setPadding(true);
@@ -64,6 +99,7 @@ public class EventListView extends VerticalLayout {
         searchField = new TextField("Recherche", "Mot-clé dans le titre…");
         villeField = new TextField("Ville", "Casablanca, Rabat…");
         categorieCombo = new ComboBox<>("Catégorie", EventCategory.values());
+        categorieCombo.setItemLabelGenerator(c -> c.name() + " (" + categoryCounts.getOrDefault(c, 0) + ")");
         prixMinField = new NumberField("Prix min");
         prixMaxField = new NumberField("Prix max");
 
@@ -72,24 +108,80 @@ public class EventListView extends VerticalLayout {
 
         Button resetButton = new Button("Réinitialiser", VaadinIcon.REFRESH.create(), e -> resetFilters());
 
+        facetsSummary = new Span();
+        facetsSummary.getStyle().set("color", "var(--lumo-secondary-text-color)").set("font-size", "0.9em");
+
         filtersSection.add(
-                new HorizontalLayout(searchField, villeField),
+                new HorizontalLayout(
+                        withSuggestions(searchField, prefix -> typeaheadIndex.suggestTitles(prefix, MAX_SUGGESTIONS)),
+                        withSuggestions(villeField, prefix -> typeaheadIndex.suggestVilles(prefix, MAX_SUGGESTIONS))),
                 new HorizontalLayout(categorieCombo, prixMinField, prixMaxField),
-                new HorizontalLayout(searchButton, resetButton)
+                new HorizontalLayout(searchButton, resetButton),
+                facetsSummary
         );
         add(filtersSection);
     }
 
+    // Suggestions pendant la saisie : l'écouteur LAZY n'est appelé qu'après une pause de frappe
+    private VerticalLayout withSuggestions(TextField field, Function<String, List<String>> suggestions) {
+        Div suggestionBox = new Div();
+        suggestionBox.getStyle().set("display", "flex").set("flex-wrap", "wrap").set("gap", "4px");
+
+        field.setValueChangeMode(ValueChangeMode.LAZY);
+        field.setValueChangeTimeout(150);
+        field.addValueChangeListener(e -> {
+            suggestionBox.removeAll();
+            if (!e.isFromClient() || e.getValue().isBlank()) {
+                return;
+            }
+            for (String suggestion : suggestions.apply(e.getValue())) {
+                Button choice = new Button(suggestion, click -> {
+                    field.setValue(suggestion);
+                    suggestionBox.removeAll();
+                    applyFilters();
+                });
+                choice.addThemeVariants(ButtonVariant.LUMO_TERTIARY, ButtonVariant.LUMO_SMALL);
+                suggestionBox.add(choice);
+            }
+        });
+
+        VerticalLayout wrapper = new VerticalLayout(field, suggestionBox);
+        wrapper.setPadding(false);
+        wrapper.setSpacing(false);
+        return wrapper;
+    }
+
+    // Liste virtualisée : seules les fenêtres visibles sont chargées et rendues
     private void createEventsContainer() {
-        eventsContainer = new VerticalLayout();
-        add(eventsContainer);
+        emptyMessage = new Span("Aucun événement trouvé.");
+        emptyMessage.setVisible(false);
+
+        eventsProvider = new CallbackDataProvider<>(this::fetchEvents, query -> eventService.countEventsByFilters(
+                currentKeyword, currentVille, currentCategorie, currentPrixMin, currentPrixMax));
+
+        eventsList = new VirtualList<>();
+        eventsList.setRenderer(new ComponentRenderer<>(this::createEventRow));
+        eventsList.setItems(eventsProvider);
+        eventsList.setWidthFull();
+        eventsList.setMinHeight("400px");
+
+        add(emptyMessage, eventsList);
+        setFlexGrow(1, eventsList);
+    }
+
+    // Une fenêtre d'événements et, en une requête, les places disponibles de cette fenêtre
+    private Stream<EventDTO> fetchEvents(Query<EventDTO, Void> query) {
+        List<EventDTO> events = eventService.searchEventsByFilters(currentKeyword, currentVille, currentCategorie,
+                currentPrixMin, currentPrixMax, query.getPage(), query.getPageSize());
+        availableSeats.putAll(eventService.getAvailableSeats(events.stream().map(EventDTO::getId).toList()));
+        return events.stream();
     }
 
     private void applyFilters() {
         loadEvents(
                 emptyToNull(searchField.getValue()),
                 emptyToNull(villeField.getValue()),
-                categorieCombo.getValue() != null ? categorieCombo.getValue().name() : null,
+                categorieCombo.getValue(),
                 prixMinField.getValue(),
                 prixMaxField.getValue()
         );
@@ -104,25 +196,48 @@ public class EventListView extends VerticalLayout {
         loadEvents(null, null, null, null, null);
     }
 
-    private void loadEvents(String keyword, String ville, String categorie, Double prixMin, Double prixMax) {
-        eventsContainer.removeAll();
-        List<Event> events = (keyword == null && ville == null && categorie == null && prixMin == null && prixMax == null)
-                ? eventService.getAvailableEvents()
-                : eventService.getEventsWithFilters(keyword, ville, categorie, prixMin, prixMax);
+    private void loadEvents(String keyword, String ville, EventCategory categorie, Double prixMin, Double prixMax) {
+        currentKeyword = keyword;
+        currentVille = ville;
+        currentCategorie = categorie;
+        currentPrixMin = prixMin;
+        currentPrixMax = prixMax;
+
+        // Même compte que la liste virtualisée (countEventsByFilters)
+        int total = eventService.countEventsByFilters(keyword, ville, categorie, prixMin, prixMax);
+        refreshFacets(total, keyword, ville, categorie, prixMin, prixMax);
+        emptyMessage.setVisible(total == 0);
+        availableSeats.clear();
+        eventsProvider.refreshAll();
+    }
+
+    // Nombre d'événements restant pour chaque choix de catégorie, de ville et de prix
+    private void refreshFacets(int total, String keyword, String ville, EventCategory categorie,
+                               Double prixMin, Double prixMax) {
+        FacetCountsDTO facets = eventService.getEventFacets(keyword, ville, categorie, prixMin, prixMax);
 
-        if (events.isEmpty()) {
-            eventsContainer.add(new Span("Aucun événement trouvé."));
-            return;
-        }
+        categoryCounts = facets.getParCategorie();
+        categorieCombo.getDataProvider().refreshAll();
 
-        events.forEach(event -> eventsContainer.add(createEventRow(event)));
+        String villes = facets.getParVille().entrySet().stream()
+                .limit(MAX_VILLES_AFFICHEES)
+                .map(e -> e.getKey() + " (" + e.getValue() + ")")
+                .collect(Collectors.joining(" · "));
+        String prix = facets.getParTrancheDePrix().entrySet().stream()
+                .filter(e -> e.getValue() > 0)
+                .map(e -> e.getKey().getLibelle() + " (" + e.getValue() + ")")
+                .collect(Collectors.joining(" · "));
+        facetsSummary.setText(total + " événement(s)"
+                + (villes.isEmpty() ? "" : " • " + villes)
+                + (prix.isEmpty() ? "" : " • " + prix));
     }
 
-    private HorizontalLayout createEventRow(Event event) {
+    private HorizontalLayout createEventRow(EventDTO event) {
         HorizontalLayout row = new HorizontalLayout();
         row.setWidthFull();
         row.setAlignItems(Alignment.CENTER);
-        row.getStyle().set("border", "1px solid #ccc").set("border-radius", "8px").set("padding", "10px");
+        row.getStyle().set("border", "1px solid #ccc").set("border-radius", "8px").set("padding", "10px")
+                .set("margin-bottom", "var(--lumo-space-s)").set("box-sizing", "border-box");
 
         VerticalLayout info = new VerticalLayout();
         info.setSpacing(false);
@@ -130,11 +245,10 @@ public class EventListView extends VerticalLayout {
         Span title = new Span(event.getTitre());
         title.getStyle().set("font-weight", "bold").set("font-size", "1.2em");
 
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy à HH:mm");
         Span details = new Span(String.format("%s • %s, %s",
-                event.getDateDebut().format(formatter), event.getLieu(), event.getVille()));
+                event.getDateDebut().format(DATE_FORMAT), event.getLieu(), event.getVille()));
 
-        int places = eventService.getAvailableSeats(event);
+        int places = availableSeats.getOrDefault(event.getId(), event.getPlacesDisponibles());
         Span placesSpan = new Span(places + " places disponibles");
         placesSpan.getStyle().set("color", places <= 10 ? "red" : "green");
 
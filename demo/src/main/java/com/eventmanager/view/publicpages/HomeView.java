@@ -1,6 +1,6 @@
 package com.eventmanager.view.publicpages;
 
-import com.eventmanager.entity.Event;
+import com.eventmanager.dto.EventDTO;
 import com.eventmanager.enums.EventCategory;
 import com.eventmanager.service.IEventService;
 import com.eventmanager.view.MainLayout;
@@ -20,6 +20,7 @@ import com.vaadin.flow.server.auth.AnonymousAllowed;
 
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
 
 @Route(value = "home", layout = MainLayout.class)
 @PageTitle("Accueil - Event Manager")
@@ -81,7 +82,7 @@ public class HomeView extends VerticalLayout {
         add(sectionTitle);
 
         // Récupérer les événements populaires
-        List<Event> popularEvents = eventService.getFeaturedEvents(6);
+        List<EventDTO> popularEvents = eventService.getFeaturedEventCards(6);
 
         if (popularEvents.isEmpty()) {
             Paragraph noEvents = new Paragraph("Aucun événement disponible pour le moment.");
@@ -93,8 +94,11 @@ public class HomeView extends VerticalLayout {
             eventsGrid.setSpacing(true);
             eventsGrid.getStyle().set("flex-wrap", "wrap");
 
-            for (Event event : popularEvents) {
-                eventsGrid.add(createEventCard(event));
+            // Places disponibles de toutes les cartes en une requête
+            Map<Long, Integer> availableSeats = eventService.getAvailableSeats(
+                    popularEvents.stream().map(EventDTO::getId).toList());
+            for (EventDTO event : popularEvents) {
+                eventsGrid.add(createEventCard(event, availableSeats.getOrDefault(event.getId(), 0)));
             }
 
             add(eventsGrid);
@@ -106,7 +110,7 @@ public class HomeView extends VerticalLayout {
         add(viewAllButton);
     }
 
-    private VerticalLayout createEventCard(Event event) {
+    private VerticalLayout createEventCard(EventDTO event, int places) {
         VerticalLayout card = new VerticalLayout();
         card.setWidth("300px");
         card.setPadding(true);
@@ -169,13 +173,19 @@ public class HomeView extends VerticalLayout {
                 .set("font-size", "var(--lumo-font-size-xl)")
                 .set("margin-top", "var(--lumo-space-s)");
 
+        // Places disponibles
+        Span placesSpan = new Span(places > 0 ? places + " places disponibles" : "Complet");
+        placesSpan.getStyle()
+                .set("color", places <= 10 ? "var(--lumo-error-text-color)" : "var(--lumo-success-text-color)")
+                .set("font-size", "var(--lumo-font-size-s)");
+
         // Bouton
         Button detailsButton = new Button("Voir détails", VaadinIcon.EYE.create());
         detailsButton.addThemeVariants(ButtonVariant.LUMO_SMALL, ButtonVariant.LUMO_PRIMARY);
         detailsButton.setWidthFull();
         detailsButton.addClickListener(e -> navigationManager.navigateToEventDetail(event.getId()));
 
-        card.add(category, title, date, location, price, detailsButton);
+        card.add(category, title, date, location, price, placesSpan, detailsButton);
         return card;
     }
 
@@ -103,30 +103,33 @@ INSERT INTO events (titre, description, categorie, date_debut, date_fin, lieu, v
 -- ============================
 -- RÉSERVATIONS (20)
 -- ============================
-INSERT INTO reservations (utilisateur_id, evenement_id, nombre_places, montant_total, date_reservation, statut, code_reservation, commentaire) VALUES
+-- Identifiants pris dans la séquence créée par Hibernate (@SequenceGenerator de Reservation) :
+-- chaque valeur lue ici est la borne d'un bloc qu'Hibernate n'attribuera plus
+
+INSERT INTO reservations (id, utilisateur_id, evenement_id, nombre_places, montant_total, date_reservation, statut, code_reservation, commentaire) VALUES
 -- Réservations Client 1 (Omar - id 4)
-(4, 1, 2, 500.0, NOW(), 'CONFIRMEE', 'EVT-A1B2C3', 'Deux places côte à côte si possible'),
-(4, 4, 1, 150.0, NOW(), 'CONFIRMEE', 'EVT-D4E5F6', 'Place au premier rang préférée'),
-(4, 7, 1, 500.0, NOW(), 'EN_ATTENTE', 'EVT-G7H8I9', 'En attente de confirmation'),
-(4, 10, 2, 200.0, NOW(), 'CONFIRMEE', 'EVT-J1K2L3', NULL),
-(4, 13, 1, 60.0, NOW(), 'CONFIRMEE', 'EVT-M4N5O6', NULL),
-(4, 2, 2, 360.0, NOW(), 'CONFIRMEE', 'EVT-P7Q8R9', NULL),
-(4, 5, 2, 240.0, NOW(), 'ANNULEE', 'EVT-S1T2U3', 'Changement de programme'),
-(4, 14, 2, 160.0, NOW(), 'CONFIRMEE', 'EVT-V4W5X6', NULL),
-(4, 9, 1, 300.0, NOW(), 'EN_ATTENTE', 'EVT-Y7Z8A9', NULL),
-(4, 11, 1, 50.0, NOW(), 'CONFIRMEE', 'EVT-B1C2D3', NULL),
+(NEXT VALUE FOR reservations_seq, 4, 1, 2, 500.0, NOW(), 'CONFIRMEE', 'EVT-A1B2C3', 'Deux places côte à côte si possible'),
+(NEXT VALUE FOR reservations_seq, 4, 4, 1, 150.0, NOW(), 'CONFIRMEE', 'EVT-D4E5F6', 'Place au premier rang préférée'),
+(NEXT VALUE FOR reservations_seq, 4, 7, 1, 500.0, NOW(), 'EN_ATTENTE', 'EVT-G7H8I9', 'En attente de confirmation'),
+(NEXT VALUE FOR reservations_seq, 4, 10, 2, 200.0, NOW(), 'CONFIRMEE', 'EVT-J1K2L3', NULL),
+(NEXT VALUE FOR reservations_seq, 4, 13, 1, 60.0, NOW(), 'CONFIRMEE', 'EVT-M4N5O6', NULL),
+(NEXT VALUE FOR reservations_seq, 4, 2, 2, 360.0, NOW(), 'CONFIRMEE', 'EVT-P7Q8R9', NULL),
+(NEXT VALUE FOR reservations_seq, 4, 5, 2, 240.0, NOW(), 'ANNULEE', 'EVT-S1T2U3', 'Changement de programme'),
+(NEXT VALUE FOR reservations_seq, 4, 14, 2, 160.0, NOW(), 'CONFIRMEE', 'EVT-V4W5X6', NULL),
+(NEXT VALUE FOR reservations_seq, 4, 9, 1, 300.0, NOW(), 'EN_ATTENTE', 'EVT-Y7Z8A9', NULL),
+(NEXT VALUE FOR reservations_seq, 4, 11, 1, 50.0, NOW(), 'CONFIRMEE', 'EVT-B1C2D3', NULL),
 
 -- Réservations Client 2 (Sara - id 5)
-(5, 2, 3, 540.0, NOW(), 'CONFIRMEE', 'EVT-E4F5G6', 'Pour mes amis et moi'),
-(5, 5, 2, 240.0, NOW(), 'CONFIRMEE', 'EVT-H7I8J9', NULL),
-(5, 8, 1, 350.0, NOW(), 'ANNULEE', 'EVT-K1L2M3', 'Événement annulé'),
-(5, 9, 2, 600.0, NOW(), 'CONFIRMEE', 'EVT-N4O5P6', NULL),
-(5, 11, 4, 200.0, NOW(), 'CONFIRMEE', 'EVT-Q7R8S9', 'Groupe de coureurs'),
-(5, 14, 1, 80.0, NOW(), 'CONFIRMEE', 'EVT-T1U2V3', NULL),
-(5, 1, 1, 250.0, NOW(), 'EN_ATTENTE', 'EVT-W4X5Y6', NULL),
-(5, 10, 1, 100.0, NOW(), 'CONFIRMEE', 'EVT-Z7A8B9', NULL),
-(5, 13, 3, 180.0, NOW(), 'CONFIRMEE', 'EVT-C1D2E3', NULL),
-(5, 4, 2, 300.0, NOW(), 'CONFIRMEE', 'EVT-F4G5H6', NULL);
+(NEXT VALUE FOR reservations_seq, 5, 2, 3, 540.0, NOW(), 'CONFIRMEE', 'EVT-E4F5G6', 'Pour mes amis et moi'),
+(NEXT VALUE FOR reservations_seq, 5, 5, 2, 240.0, NOW(), 'CONFIRMEE', 'EVT-H7I8J9', NULL),
+(NEXT VALUE FOR reservations_seq, 5, 8, 1, 350.0, NOW(), 'ANNULEE', 'EVT-K1L2M3', 'Événement annulé'),
+(NEXT VALUE FOR reservations_seq, 5, 9, 2, 600.0, NOW(), 'CONFIRMEE', 'EVT-N4O5P6', NULL),
+(NEXT VALUE FOR reservations_seq, 5, 11, 4, 200.0, NOW(), 'CONFIRMEE', 'EVT-Q7R8S9', 'Groupe de coureurs'),
+(NEXT VALUE FOR reservations_seq, 5, 14, 1, 80.0, NOW(), 'CONFIRMEE', 'EVT-T1U2V3', NULL),
+(NEXT VALUE FOR reservations_seq, 5, 1, 1, 250.0, NOW(), 'EN_ATTENTE', 'EVT-W4X5Y6', NULL),
+(NEXT VALUE FOR reservations_seq, 5, 10, 1, 100.0, NOW(), 'CONFIRMEE', 'EVT-Z7A8B9', NULL),
+(NEXT VALUE FOR reservations_seq, 5, 13, 3, 180.0, NOW(), 'CONFIRMEE', 'EVT-C1D2E3', NULL),
+(NEXT VALUE FOR reservations_seq, 5, 4, 2, 300.0, NOW(), 'CONFIRMEE', 'EVT-F4G5H6', NULL);
 
 -- ============================
 -- FIN DU SCRIPT
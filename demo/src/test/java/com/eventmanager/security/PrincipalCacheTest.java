@@ -0,0 +1,100 @@
+package com.eventmanager.security;
+
+import com.eventmanager.entity.User;
+import com.eventmanager.enums.UserRole;
+import com.eventmanager.repository.UserRepository;
+import com.eventmanager.service.UserChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Utilisateur connecté gardé en session : une seule lecture en base par session,
+ * puis relecture dans toutes les sessions de l'utilisateur après une modification.
+ */
+class PrincipalCacheTest {
+
+    private static final String EMAIL = "client@event.ma";
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PrincipalCache cache = new PrincipalCache(userRepository);
+
+    @AfterEach
+    void resetRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void rendersAndRoleChecksReadTheSessionCopy() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user(UserRole.CLIENT, "Client")));
+        MockHttpSession session = new MockHttpSession();
+
+        for (int i = 0; i < 50; i++) {
+            inSession(session);
+            AuthenticatedPrincipal principal = cache.get(EMAIL).orElseThrow();
+            assertEquals(UserRole.CLIENT, principal.getRole());
+            assertEquals("Test Client", principal.getFullName());
+        }
+        verify(userRepository, times(1)).findByEmail(EMAIL);
+
+        // Sans session (tâche de fond) : lecture directe
+        RequestContextHolder.resetRequestAttributes();
+        assertTrue(cache.get(EMAIL).isPresent());
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+    }
+
+    @Test
+    void userChangesInvalidateEverySessionOfThatUser() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user(UserRole.CLIENT, "Client")));
+        MockHttpSession navigateur = new MockHttpSession();
+        MockHttpSession mobile = new MockHttpSession();
+        inSession(navigateur);
+        cache.get(EMAIL);
+        inSession(mobile);
+        cache.get(EMAIL);
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+
+        // Un administrateur change le rôle (publié après le commit)
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user(UserRole.ORGANIZER, "Client")));
+        cache.onUserChanged(new UserChangedEvent(1L, EMAIL));
+
+        inSession(navigateur);
+        assertEquals(UserRole.ORGANIZER, cache.get(EMAIL).orElseThrow().getRole());
+        inSession(mobile);
+        assertEquals(UserRole.ORGANIZER, cache.get(EMAIL).orElseThrow().getRole());
+        cache.get(EMAIL);
+        verify(userRepository, times(4)).findByEmail(EMAIL);
+
+        // Reconnexion d'un autre utilisateur dans la même session
+        String autre = "organisateur@event.ma";
+        User organisateur = user(UserRole.ORGANIZER, "Organisateur");
+        organisateur.setEmail(autre);
+        when(userRepository.findByEmail(autre)).thenReturn(Optional.of(organisateur));
+        assertEquals("Test Organisateur", cache.get(autre).orElseThrow().getFullName());
+    }
+
+    private void inSession(MockHttpSession session) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setSession(session);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private User user(UserRole role, String nom) {
+        User user = new User(nom, "Test", EMAIL, "motdepasse123");
+        user.setId(1L);
+        user.setRole(role);
+        return user;
+    }
+}
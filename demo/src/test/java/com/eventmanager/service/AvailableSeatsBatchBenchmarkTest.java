@@ -0,0 +1,123 @@
+package com.eventmanager.service;
+
+import com.eventmanager.entity.Event;
+import com.eventmanager.entity.Reservation;
+import com.eventmanager.entity.User;
+import com.eventmanager.enums.ReservationStatus;
+import com.eventmanager.enums.UserRole;
+import com.eventmanager.repository.EventRepository;
+import com.eventmanager.repository.ReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Places disponibles de plusieurs événements : une requête pour tous, comparée
+ * à la boucle événement par événement des pages qui en affichent plusieurs.
+ */
+@SpringBootTest
+// Compteurs de places rechargés par repair() : contexte recréé pour les classes suivantes
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class AvailableSeatsBatchBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailableSeatsBatchBenchmarkTest.class);
+
+    private static final int EVENTS = 50;
+    private static final int RESERVATIONS_PER_EVENT = 40;
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private IEventService eventService;
+
+    @Autowired
+    private IReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private SeatInventory seatInventory;
+
+    @Autowired
+    private HibernateCacheStatistics cacheStatistics;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void oneQueryMatchesThePerEventLoop() {
+        List<Long> ids = createEventsWithReservations();
+
+        Map<Long, Integer> batch = reservationService.getAvailableSeats(ids);
+        assertEquals(EVENTS, batch.size());
+        for (Long id : ids) {
+            assertEquals(reservationService.getAvailableSeats(id), batch.get(id).intValue());
+        }
+        assertFalse(batch.containsKey(-1L));
+
+        long start = cacheStatistics.getStatementCount();
+        for (int i = 0; i < ROUNDS; i++) {
+            perEventAggregates(ids);
+        }
+        double loop = (cacheStatistics.getStatementCount() - start) / (double) ROUNDS;
+
+        start = cacheStatistics.getStatementCount();
+        for (int i = 0; i < ROUNDS; i++) {
+            eventService.getAvailableSeats(ids);
+        }
+        double batched = (cacheStatistics.getStatementCount() - start) / (double) ROUNDS;
+
+        log.info(String.format("%d événements : %.1f requêtes SQL en boucle, %.1f par lot", EVENTS, loop, batched));
+        // Les tâches planifiées peuvent ajouter quelques requêtes
+        assertTrue(batched < 2, "Le lot devrait tenir en une requête");
+        assertTrue(batched * 10 < loop, "Le lot devrait coûter moins de requêtes que la boucle par événement");
+    }
+
+    // Ancienne approche : une agrégation par événement
+    private int perEventAggregates(List<Long> ids) {
+        int total = 0;
+        for (Long id : ids) {
+            Event event = eventRepository.findById(id).orElseThrow();
+            total += event.getCapaciteMax() - reservationRepository.countReservedPlacesByEventId(id).intValue();
+        }
+        return total;
+    }
+
+    private List<Long> createEventsWithReservations() {
+        User organisateur = testData.createUser(UserRole.ORGANIZER);
+        User client = testData.createUser(UserRole.CLIENT);
+        LocalDateTime debut = LocalDateTime.now().plusDays(15);
+        List<Long> ids = new ArrayList<>();
+        List<Reservation> reservations = new ArrayList<>();
+        for (int i = 0; i < EVENTS; i++) {
+            Event event = testData.createEvent("Disponibilité " + i, debut, 500, organisateur);
+            ids.add(event.getId());
+            for (int j = 0; j < RESERVATIONS_PER_EVENT; j++) {
+                Reservation reservation = new Reservation(client, event, 1 + j % 4);
+                // Quelques annulations, qui ne doivent pas compter
+                if (j % 10 == 0) {
+                    reservation.setStatut(ReservationStatus.ANNULEE);
+                }
+                reservations.add(reservation);
+            }
+        }
+        reservationRepository.saveAll(reservations);
+        seatInventory.repair();
+        return ids;
+    }
+}
@@ -0,0 +1,149 @@
+package com.eventmanager.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * File d'envoi des emails, testée avec un transport en mémoire qui joue le rôle
+ * du serveur SMTP : regroupement par destinataire, envoi par lots et contre-pression.
+ */
+class EmailServiceTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailServiceTest.class);
+
+    private EmailService emailService;
+
+    @AfterEach
+    void shutdown() {
+        if (emailService != null) {
+            emailService.shutdown();
+        }
+    }
+
+    @Test
+    void notificationsForTheSameRecipientAreSentAsOneDigest() throws Exception {
+        InMemoryMailServer server = new InMemoryMailServer();
+        emailService = new EmailService(server, 100, 1, 100, Duration.ofMillis(300), Duration.ofSeconds(1));
+
+        emailService.sendReservationConfirmation("omar@event.ma", "EVT-1", "Festival Gnaoua", "Omar");
+        emailService.sendReservationConfirmation("omar@event.ma", "EVT-2", "Jazz au Chellah", "Omar");
+        emailService.sendEventCancellation("omar@event.ma", "EVT-9", "Nuit du conte", "Omar", "Intempéries");
+        emailService.sendReservationConfirmation("sara@event.ma", "EVT-3", "Festival Gnaoua", "Sara");
+
+        await(() -> emailService.getSentCount() == 4);
+
+        List<EmailMessage> messages = server.messages();
+        assertEquals(2, messages.size());
+        assertEquals(1, server.connections.size(), "Un seul lot, donc une seule connexion");
+        EmailMessage digest = messages.stream().filter(m -> m.getTo().equals("omar@event.ma")).findFirst().orElseThrow();
+        assertTrue(digest.getSubject().startsWith("3 "));
+        assertTrue(digest.getBody().contains("EVT-2") && digest.getBody().contains("Nuit du conte"));
+
+        Map<String, Object> stats = emailService.getStatistics();
+        assertEquals(0, stats.get("queueDepth"));
+        assertTrue((Double) stats.get("maxLatencyMs") > 0);
+    }
+
+    @Test
+    void fullQueueRejectsInsteadOfGrowing() throws Exception {
+        InMemoryMailServer server = new InMemoryMailServer();
+        CountDownLatch serverAvailable = new CountDownLatch(1);
+        server.blockUntil(serverAvailable);
+        int capacity = 5;
+        emailService = new EmailService(server, capacity, 1, 2, Duration.ZERO, Duration.ofMillis(20));
+
+        int total = 40;
+        int maxDepth = 0;
+        for (int i = 0; i < total; i++) {
+            emailService.sendReservationConfirmation("client" + i + "@event.ma", "EVT-" + i, "Concert " + i, "Client");
+            maxDepth = Math.max(maxDepth, emailService.getQueueDepth());
+        }
+
+        assertTrue(maxDepth <= capacity);
+        assertTrue(emailService.getRejectedCount() > 0, "La file pleine devrait rejeter des notifications");
+
+        serverAvailable.countDown();
+        await(() -> emailService.getSentCount() + emailService.getRejectedCount() == total);
+        log.info("Contre-pression : {} envoyées, {} rejetées, statistiques {}",
+                emailService.getSentCount(), emailService.getRejectedCount(), emailService.getStatistics());
+    }
+
+    @Test
+    void cancellationFanOutWaitsForRoomInsteadOfDropping() throws Exception {
+        InMemoryMailServer server = new InMemoryMailServer();
+        CountDownLatch serverAvailable = new CountDownLatch(1);
+        server.blockUntil(serverAvailable);
+        int capacity = 5;
+        emailService = new EmailService(server, capacity, 1, 2, Duration.ZERO, Duration.ofMillis(20));
+
+        int total = 40;
+        AtomicInteger submitted = new AtomicInteger();
+        Thread job = new Thread(() -> {
+            for (int i = 0; i < total; i++) {
+                emailService.sendEventCancellation("client" + i + "@event.ma", "EVT-" + i, "Concert " + i,
+                        "Client", "Annulation");
+                submitted.incrementAndGet();
+            }
+        });
+        job.start();
+
+        await(() -> emailService.getQueueDepth() == capacity);
+        Thread.sleep(100);
+        assertTrue(submitted.get() < total, "La tâche devrait attendre une place dans la file");
+
+        serverAvailable.countDown();
+        job.join(TimeUnit.SECONDS.toMillis(10));
+        await(() -> emailService.getSentCount() == total);
+        assertEquals(0, emailService.getRejectedCount());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Délai dépassé");
+            Thread.sleep(20);
+        }
+    }
+
+    // Serveur SMTP simulé : chaque appel à send correspond à une connexion
+    private static final class InMemoryMailServer implements MailTransport {
+
+        private final List<List<EmailMessage>> connections = new CopyOnWriteArrayList<>();
+        private volatile CountDownLatch available = new CountDownLatch(0);
+
+        void blockUntil(CountDownLatch latch) {
+            this.available = latch;
+        }
+
+        @Override
+        public void send(List<EmailMessage> messages) {
+            try {
+                available.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            connections.add(new ArrayList<>(messages));
+        }
+
+        List<EmailMessage> messages() {
+            List<EmailMessage> all = new ArrayList<>();
+            connections.forEach(all::addAll);
+            return all;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.eventmanager.service;
+
+import com.eventmanager.dto.CancellationProgressDTO;
+import com.eventmanager.dto.TicketHolderDTO;
+import com.eventmanager.entity.Event;
+import com.eventmanager.entity.Reservation;
+import com.eventmanager.entity.User;
+import com.eventmanager.enums.EventStatus;
+import com.eventmanager.enums.UserRole;
+import com.eventmanager.repository.EventRepository;
+import com.eventmanager.repository.ReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Annulation d'un événement de 50 000 participants : toutes les réservations
+ * sont annulées par tranches et la progression est suivie jusqu'au bout.
+ */
+@SpringBootTest
+// Compteurs de places rechargés par repair() : contexte recréé pour les classes suivantes
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class EventCancellationJobTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EventCancellationJobTest.class);
+
+    private static final int PARTICIPANTS = 50_000;
+    private static final int INSERT_BATCH = 1_000;
+
+    @Autowired
+    private IEventService eventService;
+
+    @Autowired
+    private EventCancellationJob cancellationJob;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private SeatInventory seatInventory;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void cancellingAnEventCancelsEveryReservationInChunks() throws Exception {
+        User client = testData.createUser(UserRole.CLIENT);
+        Event event = testData.createEvent("Grand concert annulé", LocalDateTime.now().plusDays(30), PARTICIPANTS);
+        for (int from = 0; from < PARTICIPANTS; from += INSERT_BATCH) {
+            List<Reservation> batch = new ArrayList<>(INSERT_BATCH);
+            for (int i = 0; i < INSERT_BATCH; i++) {
+                batch.add(new Reservation(client, event, 1));
+            }
+            reservationRepository.saveAll(batch);
+        }
+        seatInventory.repair();
+        assertEquals(PARTICIPANTS, seatInventory.getReservedSeats(event.getId()));
+
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+        long heapPeak = heapBefore;
+
+        long start = System.nanoTime();
+        eventService.changeEventStatus(event.getId(), EventStatus.ANNULE);
+
+        CancellationProgressDTO progress = cancellationJob.getProgress(event.getId());
+        assertNotNull(progress, "Le traitement doit démarrer après le commit du changement de statut");
+        long deadline = System.nanoTime() + 120_000_000_000L;
+        while (!progress.isTermine()) {
+            assertTrue(System.nanoTime() < deadline, "Délai dépassé : " + progress.getPourcentage() + " %");
+            heapPeak = Math.max(heapPeak, runtime.totalMemory() - runtime.freeMemory());
+            Thread.sleep(50);
+            progress = cancellationJob.getProgress(event.getId());
+        }
+
+        log.info(String.format("Annulation de %d réservations en %.2f s, tas : %d Mo avant, pic %d Mo",
+                progress.getTraitees(), (System.nanoTime() - start) / 1_000_000_000.0,
+                heapBefore / (1024 * 1024), heapPeak / (1024 * 1024)));
+
+        assertNull(progress.getErreur());
+        assertEquals(PARTICIPANTS, progress.getTotal());
+        assertEquals(PARTICIPANTS, progress.getTraitees());
+        assertEquals(100, progress.getPourcentage());
+        assertEquals(0, reservationRepository.countActiveReservationsByEventId(event.getId()));
+        assertEquals(0, seatInventory.getReservedSeats(event.getId()));
+
+        cancellationJob.evictFinished();
+        assertNotNull(cancellationJob.getProgress(event.getId()), "Conservée pendant progress-retention");
+    }
+
+    @Test
+    void ticketHolderProjectionCarriesWhatTheNoticeShows() {
+        User client = testData.createUser(UserRole.CLIENT);
+        Event event = testData.createEvent("Récital", LocalDateTime.now().plusDays(20), 10);
+        Reservation reservation = new Reservation(client, event, 2);
+        reservation.setCodeReservation("EVT-PROJ-1");
+        reservationRepository.save(reservation);
+
+        List<TicketHolderDTO> holders = reservationRepository.findTicketHoldersAfter(
+                event.getId(), 0L, PageRequest.of(0, 10));
+
+        assertEquals(1, holders.size());
+        assertEquals("EVT-PROJ-1", holders.get(0).getCodeReservation());
+        assertEquals(client.getEmail(), holders.get(0).getEmail());
+        assertEquals(client.getPrenom() + " " + client.getNom(), holders.get(0).getNomComplet());
+    }
+
+    @Test
+    void finishedProgressIsEvictedOnceRetentionHasPassed() throws Exception {
+        Event event = testData.createEvent("Soirée annulée", LocalDateTime.now().plusDays(10), 10);
+        EventCancellationJob job = new EventCancellationJob(reservationRepository, eventRepository, seatInventory,
+                seatHoldService, emailService, transactionManager, 500, Duration.ZERO);
+        try {
+            job.start(event.getId(), "Intempéries");
+            long deadline = System.nanoTime() + 10_000_000_000L;
+            while (!job.getProgress(event.getId()).isTermine()) {
+                assertTrue(System.nanoTime() < deadline, "Délai dépassé");
+                Thread.sleep(20);
+            }
+
+            job.evictFinished();
+            assertNull(job.getProgress(event.getId()));
+        } finally {
+            job.shutdown();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.eventmanager.service;
+
+import com.eventmanager.dto.FacetCountsDTO;
+import com.eventmanager.entity.Event;
+import com.eventmanager.enums.EventCategory;
+import com.eventmanager.enums.EventStatus;
+import com.eventmanager.enums.PriceBand;
+import com.eventmanager.repository.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Compteurs de facettes : chaque facette est comptée sans son propre filtre,
+ * les changements de statut sont suivis et les combinaisons de filtres sont
+ * exactes sur un grand catalogue (durée par combinaison affichée).
+ */
+class EventFacetIndexTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EventFacetIndexTest.class);
+
+    private static final int CATALOGUE = 100_000;
+    private static final int COUNTS = 2_000;
+
+    private final EventFacetIndex index = new EventFacetIndex(mock(EventRepository.class));
+
+    @Test
+    void countsEachFacetAgainstTheOtherFilters() {
+        index.update(1L, event(1L, EventCategory.CONCERT, "Casablanca", 0.0));
+        index.update(2L, event(2L, EventCategory.CONCERT, "Rabat", 150.0));
+        index.update(3L, event(3L, EventCategory.THEATRE, "Casablanca", 80.0));
+        index.update(4L, event(4L, EventCategory.SPORT, "Fès", 600.0));
+
+        FacetCountsDTO all = index.count(null, null, null, null, null);
+        assertEquals(4, all.getTotal());
+        assertEquals(2, all.getParCategorie().get(EventCategory.CONCERT));
+        assertEquals(0, all.getParCategorie().get(EventCategory.CONFERENCE));
+        assertEquals(List.of("Casablanca", "Fès", "Rabat"), List.copyOf(all.getParVille().keySet()));
+        assertEquals(1, all.getParTrancheDePrix().get(PriceBand.GRATUIT));
+
+        // Le filtre de catégorie ne réduit pas les compteurs de catégorie, seulement les autres facettes
+        FacetCountsDTO concerts = index.count(null, "casa", EventCategory.CONCERT, null, null);
+        assertEquals(1, concerts.getTotal());
+        assertEquals(Map.of(EventCategory.CONCERT, 1, EventCategory.THEATRE, 1),
+                withoutZeros(concerts.getParCategorie()));
+        assertEquals(Map.of("Casablanca", 1, "Rabat", 1), concerts.getParVille());
+
+        // Intervalle de prix à cheval sur plusieurs tranches
+        assertEquals(2, index.count(null, null, null, 50.0, 200.0).getTotal());
+        assertEquals(1, index.count(null, "fes", null, 500.0, null).getTotal());
+
+        BitSet keyword = new BitSet();
+        keyword.set(2);
+        keyword.set(4);
+        assertEquals(1, index.count(keyword, null, null, null, 300.0).getTotal());
+
+        // Dépublication et annulation
+        Event rabat = event(2L, EventCategory.CONCERT, "Rabat", 150.0);
+        rabat.setStatut(EventStatus.ANNULE);
+        index.update(2L, rabat);
+        index.update(4L, null);
+        FacetCountsDTO after = index.count(null, null, null, null, null);
+        assertEquals(2, after.getTotal());
+        assertEquals(Map.of("Casablanca", 2), after.getParVille());
+        assertEquals(0, after.getParTrancheDePrix().get(PriceBand.DE_100_A_300));
+    }
+
+    @Test
+    void largeCatalogueCountsMatchAScan() {
+        String[] villes = {"Casablanca", "Rabat", "Marrakech", "Fès", "Tanger", "Agadir", "Meknès", "Oujda"};
+        EventCategory[] categories = EventCategory.values();
+        for (long id = 1; id <= CATALOGUE; id++) {
+            index.update(id, event(id, categories[(int) (id % categories.length)],
+                    villes[(int) (id % villes.length)], (double) (id % 700)));
+        }
+
+        int total = 0;
+        for (int i = 0; i < COUNTS; i++) {
+            total += index.count(null, "ma", categories[i % categories.length], 50.0, 400.0).getTotal();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < COUNTS; i++) {
+            total += index.count(null, villes[i % villes.length].substring(0, 3),
+                    categories[i % categories.length], null, i % 2 == 0 ? 300.0 : null).getTotal();
+        }
+        double micros = (System.nanoTime() - start) / 1_000.0 / COUNTS;
+
+        log.info(String.format("Facettes sur %d événements : %.1f µs par combinaison de filtres (%d)",
+                CATALOGUE, micros, total));
+
+        // Mêmes combinaisons comptées événement par événement
+        for (int i = 0; i < villes.length * categories.length * 2; i++) {
+            String ville = villes[i % villes.length];
+            EventCategory categorie = categories[i % categories.length];
+            Double prixMax = i % 2 == 0 ? 300.0 : null;
+            int expected = 0;
+            for (long id = 1; id <= CATALOGUE; id++) {
+                if (villes[(int) (id % villes.length)].equals(ville) && categories[(int) (id % categories.length)] == categorie
+                        && (prixMax == null || id % 700 <= prixMax)) {
+                    expected++;
+                }
+            }
+            assertEquals(expected, index.count(null, ville.substring(0, 3), categorie, null, prixMax).getTotal(),
+                    ville + ", " + categorie + ", " + prixMax);
+        }
+    }
+
+    private Map<EventCategory, Integer> withoutZeros(Map<EventCategory, Integer> counts) {
+        Map<EventCategory, Integer> result = new HashMap<>(counts);
+        result.values().removeIf(count -> count == 0);
+        return result;
+    }
+
+    private Event event(Long id, EventCategory categorie, String ville, Double prix) {
+        LocalDateTime debut = LocalDateTime.now().plusDays(5);
+        Event event = new Event("Événement " + id, "", debut, debut.plusHours(2), "Salle", ville, 100, prix, null);
+        event.setId(id);
+        event.setCategorie(categorie);
+        event.setStatut(EventStatus.PUBLIE);
+        return event;
+    }
+}
@@ -0,0 +1,113 @@
+package com.eventmanager.service;
+
+import com.eventmanager.entity.Event;
+import com.eventmanager.enums.EventStatus;
+import com.eventmanager.repository.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Index d'intervalles : mêmes résultats qu'un parcours complet, suivi des
+ * modifications et des changements de statut sur un grand catalogue (durée
+ * par recherche affichée).
+ */
+class EventIntervalIndexTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EventIntervalIndexTest.class);
+
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final int CATALOGUE = 100_000;
+    private static final int QUERIES = 10_000;
+
+    private final EventIntervalIndex index = new EventIntervalIndex(mock(EventRepository.class));
+
+    @Test
+    void findsOverlappingEventsAndFollowsChanges() {
+        index.update(1L, event(1L, ORIGIN.plusHours(20), ORIGIN.plusHours(23), "Casablanca"));
+        index.update(2L, event(2L, ORIGIN.plusDays(1).plusHours(10), ORIGIN.plusDays(2).plusHours(18), "Rabat"));
+        index.update(3L, event(3L, ORIGIN.minusDays(3), ORIGIN.plusDays(10), "Casablanca"));
+        index.update(4L, event(4L, ORIGIN.plusDays(5), null, "Fès"));
+
+        // Ce soir : commencé avant, ou commençant dans la soirée
+        assertEquals(List.of(3L, 1L), index.overlapping(ORIGIN.plusHours(19), ORIGIN.plusHours(23).plusMinutes(59), null));
+        // Le week-end, limité aux villes contenant "casa"
+        assertEquals(List.of(3L), index.overlapping(ORIGIN.plusDays(1), ORIGIN.plusDays(3), "casa"));
+        // Bornes comprises, et un événement sans date de fin est ponctuel
+        assertEquals(List.of(3L, 4L), index.overlapping(ORIGIN.plusDays(5), ORIGIN.plusDays(5), null));
+        assertEquals(List.of(), index.overlapping(ORIGIN.plusDays(11), ORIGIN.plusDays(4), null));
+
+        // Report, dépublication et suppression
+        index.update(1L, event(1L, ORIGIN.plusDays(20), ORIGIN.plusDays(20).plusHours(2), "Casablanca"));
+        Event rabat = event(2L, ORIGIN.plusDays(1).plusHours(10), ORIGIN.plusDays(2).plusHours(18), "Rabat");
+        rabat.setStatut(EventStatus.ANNULE);
+        index.update(2L, rabat);
+        index.update(4L, null);
+        assertEquals(List.of(3L, 1L), index.overlapping(null, null, null));
+        assertEquals(List.of(1L), index.overlapping(ORIGIN.plusDays(15), null, "Casablanca"));
+    }
+
+    @Test
+    void matchesAFullScanOnALargeCatalogue() {
+        Random random = new Random(42);
+        Map<Long, Event> events = new HashMap<>();
+        EventRepository repository = mock(EventRepository.class);
+        for (long id = 1; id <= CATALOGUE; id++) {
+            LocalDateTime debut = ORIGIN.plusMinutes(random.nextInt(525_600));
+            // Quelques festivals de plusieurs semaines parmi des soirées de quelques heures
+            LocalDateTime fin = id % 100 == 0 ? debut.plusDays(1 + random.nextInt(60)) : debut.plusHours(1 + random.nextInt(6));
+            Event event = event(id, debut, fin, "Rabat");
+            events.put(id, event);
+        }
+        when(repository.findAll()).thenReturn(new ArrayList<>(events.values()));
+        EventIntervalIndex catalogue = new EventIntervalIndex(repository);
+        catalogue.rebuild();
+
+        for (int i = 0; i < 200; i++) {
+            LocalDateTime from = ORIGIN.plusMinutes(random.nextInt(525_600));
+            LocalDateTime to = from.plusHours(random.nextInt(72));
+            assertEquals(scan(events, from, to), catalogue.overlapping(from, to, null));
+        }
+
+        long found = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) {
+            LocalDateTime soir = ORIGIN.plusDays(random.nextInt(365)).plusHours(19);
+            found += catalogue.overlapping(soir, soir.plusHours(5), null).size();
+        }
+        double micros = (System.nanoTime() - start) / 1_000.0 / QUERIES;
+
+        log.info(String.format("Périodes sur %d événements : %.1f µs par recherche (%.1f résultats en moyenne)",
+                CATALOGUE, micros, (double) found / QUERIES));
+    }
+
+    private List<Long> scan(Map<Long, Event> events, LocalDateTime from, LocalDateTime to) {
+        List<Event> matching = new ArrayList<>();
+        for (Event event : events.values()) {
+            if (!event.getDateDebut().isAfter(to) && !event.getDateFin().isBefore(from)) {
+                matching.add(event);
+            }
+        }
+        matching.sort(Comparator.comparing(Event::getDateDebut).thenComparing(Event::getId));
+        return matching.stream().map(Event::getId).toList();
+    }
+
+    private Event event(Long id, LocalDateTime debut, LocalDateTime fin, String ville) {
+        Event event = new Event("Événement " + id, "", debut, fin, "Salle", ville, 100, 50.0, null);
+        event.setId(id);
+        event.setStatut(EventStatus.PUBLIE);
+        return event;
+    }
+}
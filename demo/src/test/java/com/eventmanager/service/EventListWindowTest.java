@@ -0,0 +1,142 @@
+package com.eventmanager.service;
+
+import com.eventmanager.dto.EventDTO;
+import com.eventmanager.entity.Event;
+import com.eventmanager.entity.Reservation;
+import com.eventmanager.entity.User;
+import com.eventmanager.enums.UserRole;
+import com.eventmanager.repository.EventRepository;
+import com.eventmanager.repository.ReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Liste virtualisée du catalogue : une fenêtre d'événements et ses places
+ * disponibles, avec autant de requêtes SQL quelle que soit la taille du catalogue
+ * (durées affichées).
+ */
+@SpringBootTest
+// Compteurs de places rechargés par repair() : contexte recréé pour les classes suivantes
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class EventListWindowTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EventListWindowTest.class);
+
+    private static final int PAGE_SIZE = 30;
+    private static final int SMALL_CATALOGUE = 300;
+    private static final int LARGE_CATALOGUE = 3_000;
+    private static final int RENDERS = 200;
+
+    @Autowired
+    private IEventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private SeatInventory seatInventory;
+
+    @Autowired
+    private HibernateCacheStatistics cacheStatistics;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void windowMatchesTheFullListWithItsSeats() {
+        User organisateur = testData.createUser(UserRole.ORGANIZER);
+        User client = testData.createUser(UserRole.CLIENT);
+        List<Event> created = createEvents(organisateur, 2 * PAGE_SIZE);
+        List<Reservation> reservations = new ArrayList<>();
+        for (int i = 0; i < created.size(); i++) {
+            reservations.add(new Reservation(client, created.get(i), 1 + i % 3));
+        }
+        reservationRepository.saveAll(reservations);
+        seatInventory.repair();
+
+        List<Long> all = eventService.getAvailableEvents(null, 2 * PAGE_SIZE).getItems().stream().map(Event::getId).toList();
+        List<EventDTO> window = eventService.searchEventsByFilters(null, null, null, null, null, 1, PAGE_SIZE);
+        assertEquals(all.subList(PAGE_SIZE, 2 * PAGE_SIZE), window.stream().map(EventDTO::getId).toList());
+        assertEquals(eventService.getAvailableEvents().size(), eventService.countEventsByFilters(null, null, null, null, null));
+
+        // Places de chaque ligne : lues par lot pour la fenêtre, comme dans la projection
+        Map<Long, Event> byId = created.stream().collect(Collectors.toMap(Event::getId, e -> e));
+        Map<Long, Integer> seats = eventService.getAvailableSeats(window.stream().map(EventDTO::getId).toList());
+        for (EventDTO card : window) {
+            assertEquals(seatInventory.getAvailableSeats(byId.get(card.getId())), card.getPlacesDisponibles());
+            assertEquals(card.getPlacesDisponibles(), seats.get(card.getId()).intValue());
+        }
+    }
+
+    @Test
+    void windowCostStaysFlatAsTheCatalogGrows() {
+        User organisateur = testData.createUser(UserRole.ORGANIZER);
+        createEvents(organisateur, SMALL_CATALOGUE);
+        Measure small = measureWindows();
+
+        createEvents(organisateur, LARGE_CATALOGUE - SMALL_CATALOGUE);
+        Measure large = measureWindows();
+
+        log.info(String.format("Fenêtre de %d événements : %.1f requêtes SQL et %.3f ms (%d au catalogue), " +
+                "%.1f requêtes SQL et %.3f ms (%d au catalogue)",
+                PAGE_SIZE, small.statements, small.millis, SMALL_CATALOGUE, large.statements, large.millis, LARGE_CATALOGUE));
+        // Les tâches planifiées peuvent ajouter quelques requêtes
+        assertEquals(small.statements, large.statements, 0.1,
+                "Les requêtes d'une fenêtre ne devraient pas suivre la taille du catalogue");
+    }
+
+    // Ce que fait EventListView pour chaque fenêtre : la projection, puis les places de la fenêtre par lot
+    private Measure measureWindows() {
+        for (int i = 0; i < RENDERS; i++) {
+            renderWindow(i % 5);
+        }
+        long statements = cacheStatistics.getStatementCount();
+        long start = System.nanoTime();
+        for (int i = 0; i < RENDERS; i++) {
+            renderWindow(i % 5);
+        }
+        double millis = (System.nanoTime() - start) / 1_000_000.0 / RENDERS;
+        return new Measure((cacheStatistics.getStatementCount() - statements) / (double) RENDERS, millis);
+    }
+
+    private int renderWindow(int page) {
+        List<EventDTO> events = eventService.searchEventsByFilters(null, null, null, null, null, page, PAGE_SIZE);
+        Map<Long, Integer> seats = eventService.getAvailableSeats(events.stream().map(EventDTO::getId).toList());
+        return seats.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    private List<Event> createEvents(User organisateur, int count) {
+        List<Event> events = new ArrayList<>(count);
+        LocalDateTime debut = LocalDateTime.now().plusDays(3);
+        for (int i = 0; i < count; i++) {
+            events.add(testData.newEvent("Fenêtre " + i, debut.plusMinutes(i), 100, organisateur));
+        }
+        return eventRepository.saveAll(events);
+    }
+
+    // Moyennes par fenêtre : requêtes SQL et durée en ms
+    private static final class Measure {
+        private final double statements;
+        private final double millis;
+
+        private Measure(double statements, double millis) {
+            this.statements = statements;
+            this.millis = millis;
+        }
+    }
+}
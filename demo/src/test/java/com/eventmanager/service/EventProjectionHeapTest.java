@@ -0,0 +1,138 @@
+package com.eventmanager.service;
+
+import com.eventmanager.dto.EventDTO;
+import com.eventmanager.entity.Event;
+import com.eventmanager.entity.Reservation;
+import com.eventmanager.entity.User;
+import com.eventmanager.enums.ReservationStatus;
+import com.eventmanager.enums.UserRole;
+import com.eventmanager.repository.EventRepository;
+import com.eventmanager.repository.ReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pages du catalogue lues par projection (EventDTO) plutôt que par entités :
+ * mêmes places disponibles, et moins de mémoire allouée par page affichée.
+ */
+@SpringBootTest
+// Compteurs de places rechargés par repair() : contexte recréé pour les classes suivantes
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class EventProjectionHeapTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EventProjectionHeapTest.class);
+
+    private static final int PAGE_SIZE = 30;
+    private static final int RESERVATIONS_PER_EVENT = 25;
+    private static final int WARMUP = 50;
+    private static final int RENDERS = 200;
+
+    @Autowired
+    private IEventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private SeatInventory seatInventory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void projectionAllocatesLessThanEntityHydration() {
+        List<Long> ids = createEventsWithReservations();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // Avant : entités, collection des réservations chargée pour compter les places
+        IntSupplier entities = () -> transaction.execute(status -> {
+            int places = 0;
+            for (Event event : eventRepository.findAllById(ids)) {
+                int reserved = event.getReservations().stream()
+                        .filter(r -> r.getStatut() != ReservationStatus.ANNULEE)
+                        .mapToInt(Reservation::getNombrePlaces)
+                        .sum();
+                places += event.getCapaciteMax() - reserved + event.getTitre().length();
+            }
+            return places;
+        });
+        // Après : une requête de projection, somme des places calculée par la base
+        IntSupplier projection = () -> transaction.execute(status -> {
+            int places = 0;
+            for (EventDTO event : eventRepository.findCardsByIds(ids)) {
+                places += event.getPlacesDisponibles() + event.getTitre().length();
+            }
+            return places;
+        });
+
+        assertEquals(entities.getAsInt(), projection.getAsInt(), "Les deux chemins doivent afficher les mêmes places");
+        for (EventDTO card : eventService.searchEventsByFilters(null, null, null, null, null, 0, PAGE_SIZE)) {
+            assertEquals(eventService.getAvailableSeats(eventRepository.findById(card.getId()).orElseThrow()),
+                    card.getPlacesDisponibles());
+        }
+
+        long before = allocatedPerRender(entities);
+        long after = allocatedPerRender(projection);
+
+        log.info("Page de {} événements : {} Ko alloués avec les entités, {} Ko avec la projection",
+                PAGE_SIZE, before / 1024, after / 1024);
+        assertTrue(after < before, "La projection devrait allouer moins que l'hydratation des entités");
+    }
+
+    private long allocatedPerRender(IntSupplier render) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        int sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += render.getAsInt();
+        }
+        long start = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < RENDERS; i++) {
+            sink += render.getAsInt();
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - start;
+        assertTrue(sink != 0);
+        return allocated / RENDERS;
+    }
+
+    private List<Long> createEventsWithReservations() {
+        User organisateur = testData.createUser(UserRole.ORGANIZER);
+        User client = testData.createUser(UserRole.CLIENT);
+        LocalDateTime debut = LocalDateTime.now().plusDays(8);
+        List<Long> ids = new ArrayList<>();
+        List<Reservation> reservations = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Event event = testData.newEvent("Projection " + i, debut, 1_000, organisateur);
+            event.setDescription("Description de l'événement " + i);
+            event = eventRepository.save(event);
+            ids.add(event.getId());
+            for (int j = 0; j < RESERVATIONS_PER_EVENT; j++) {
+                reservations.add(new Reservation(client, event, 1 + j % 3));
+            }
+        }
+        reservationRepository.saveAll(reservations);
+        seatInventory.repair();
+        return ids;
+    }
+}
@@ -0,0 +1,208 @@
+package com.eventmanager.service;
+
+import com.eventmanager.entity.Event;
+import com.eventmanager.entity.User;
+import com.eventmanager.enums.EventCategory;
+import com.eventmanager.enums.EventStatus;
+import com.eventmanager.enums.UserRole;
+import com.eventmanager.repository.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Recherche plein texte du catalogue : accents, pertinence, mise à jour
+ * incrémentale et résultats complets sur un grand catalogue (temps de réponse affiché).
+ */
+@SpringBootTest
+class EventSearchIndexTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EventSearchIndexTest.class);
+
+    private static final int CATALOGUE = 2_000;
+    private static final int SEARCHES = 2_000;
+
+    @Autowired
+    private IEventService eventService;
+
+    @Autowired
+    private EventSearchIndex searchIndex;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void searchFoldsAccentsRanksByRelevanceAndFollowsUpdates() {
+        Long organisateurId = testData.createUser(UserRole.ORGANIZER).getId();
+        Event fete = eventService.createEvent(newEvent("Fête de la musique à Fès", "Concerts gratuits en plein air",
+                "Place Boujloud", "Fès"), organisateurId);
+        Event jazz = eventService.createEvent(newEvent("Soirée jazz au Chellah", "Une nuit de musique improvisée",
+                "Jardins du Chellah", "Rabat"), organisateurId);
+
+        // Brouillons : pas encore visibles
+        assertFalse(eventService.searchEventsByFilters("musique", null, null, null, null).contains(fete));
+
+        eventService.changeEventStatus(fete.getId(), EventStatus.PUBLIE);
+        eventService.changeEventStatus(jazz.getId(), EventStatus.PUBLIE);
+
+        List<Event> results = eventService.searchEventsByFilters("musique", null, null, null, null);
+        assertTrue(results.indexOf(eventById(results, fete.getId())) < results.indexOf(eventById(results, jazz.getId())),
+                "Un mot du titre doit être mieux classé qu'un mot de la description");
+        assertEquals(fete.getId(), eventService.searchEventsByFilters("fete fes", null, null, null, null).get(0).getId());
+        assertEquals(List.of(fete.getId()), ids(eventService.searchEventsByFilters("musique", "fes", null, null, 100.0)));
+        assertTrue(eventService.searchEventsByFilters("musique", null, EventCategory.THEATRE, null, null).isEmpty());
+
+        Event modification = new Event();
+        modification.setTitre("Festival des musiques sacrées");
+        eventService.updateEvent(fete.getId(), modification);
+        assertEquals(fete.getId(), eventService.getEventsWithFilters("sacrees", null, null, null, null).get(0).getId());
+
+        eventService.changeEventStatus(jazz.getId(), EventStatus.ANNULE);
+        assertFalse(ids(eventService.searchEventsByFilters("jazz", null, null, null, null)).contains(jazz.getId()));
+    }
+
+    @Test
+    void windowsFollowTheFullResultListAndTheCount() {
+        User organisateur = testData.createUser(UserRole.ORGANIZER);
+        for (int i = 0; i < 7; i++) {
+            Event event = newEvent("Zorglub numéro " + i, "", "Salle " + i, i % 2 == 0 ? "Casablanca" : "Rabat");
+            event.setOrganisateur(organisateur);
+            event.setStatut(EventStatus.PUBLIE);
+            searchIndex.index(eventRepository.save(event));
+        }
+
+        for (String ville : new String[]{null, "casa"}) {
+            List<Long> all = searchIndex.search("zorglub", ville, null, null, null);
+            List<Long> windows = new ArrayList<>();
+            for (int offset = 0; offset < all.size() + 3; offset += 3) {
+                windows.addAll(searchIndex.search("zorglub", ville, null, null, null, offset, 3));
+            }
+            assertEquals(all, windows);
+            assertEquals(all.size(), searchIndex.count("zorglub", ville, null, null, null));
+        }
+        // Ville : le nom contient la saisie, comme pour les facettes
+        assertEquals(4, searchIndex.count("zorglub", "CASA", null, null, null));
+        assertEquals(4, searchIndex.count("zorglub", "blanca", null, null, null));
+        assertEquals(0, searchIndex.count("zorglub", "casa*", null, null, null));
+
+        Event aix = newEvent("Zorglub en Provence", "", "Salle", "Aix-Marseille");
+        aix.setOrganisateur(organisateur);
+        aix.setStatut(EventStatus.PUBLIE);
+        searchIndex.index(eventRepository.save(aix));
+        assertEquals(List.of(aix.getId()), searchIndex.search("zorglub", "Marseille", null, null, null));
+    }
+
+    @Test
+    void searchReturnsEveryMatchPastOneBatch() throws Exception {
+        User organisateur = testData.createUser(UserRole.ORGANIZER);
+        // Index à part, lu par lots de 3
+        EventSearchIndex smallBatches = new EventSearchIndex(eventRepository, "", 3);
+        try {
+            for (int i = 0; i < 7; i++) {
+                Event event = newEvent("Quasar numéro " + i, "", "Salle " + i, "Rabat");
+                event.setOrganisateur(organisateur);
+                event.setStatut(EventStatus.PUBLIE);
+                smallBatches.index(eventRepository.save(event));
+            }
+            assertEquals(7, smallBatches.search("quasar", null, null, null, null).size());
+            assertEquals(7, new HashSet<>(smallBatches.search(null, null, null, null, null)).size());
+            assertEquals(7, smallBatches.count(null, null, null, null, null));
+        } finally {
+            smallBatches.close();
+        }
+    }
+
+    @Test
+    void instancesOnTheSameDirectorySettingDoNotShareALock(@TempDir Path base) throws Exception {
+        // Deux contextes sur la même machine : un répertoire d'index chacun, supprimé à l'arrêt
+        EventSearchIndex first = new EventSearchIndex(eventRepository, base.toString(), 10);
+        EventSearchIndex second = new EventSearchIndex(eventRepository, base.toString(), 10);
+        try (Stream<Path> directories = Files.list(base)) {
+            assertEquals(2, directories.count());
+        }
+        first.close();
+        second.close();
+        try (Stream<Path> directories = Files.list(base)) {
+            assertEquals(0, directories.count());
+        }
+    }
+
+    @Test
+    void largeCatalogueSearchFindsEveryMatch() {
+        User organisateur = testData.createUser(UserRole.ORGANIZER);
+        String[] villes = {"Casablanca", "Rabat", "Marrakech", "Fès", "Tanger", "Agadir"};
+        String[] genres = {"concert", "théâtre", "exposition", "conférence", "festival", "atelier"};
+        List<Long> created = new ArrayList<>(CATALOGUE);
+        for (int i = 0; i < CATALOGUE; i++) {
+            Event event = newEvent("Grand " + genres[i % genres.length] + " numéro " + i,
+                    "Édition " + i + " d'un " + genres[(i + 1) % genres.length] + " très attendu",
+                    "Salle " + i, villes[i % villes.length]);
+            event.setOrganisateur(organisateur);
+            event.setStatut(EventStatus.PUBLIE);
+            Event saved = eventRepository.save(event);
+            searchIndex.index(saved);
+            created.add(saved.getId());
+        }
+
+        String[] keywords = {"theatre", "conference agadir", "festival", "expo", "atelier tanger"};
+        for (int i = 0; i < 500; i++) {
+            searchIndex.search(keywords[i % keywords.length], null, null, null, null);
+        }
+        long start = System.nanoTime();
+        int found = 0;
+        for (int i = 0; i < SEARCHES; i++) {
+            found += searchIndex.search(keywords[i % keywords.length], null, null, null, 200.0).size();
+        }
+        double averageMillis = (System.nanoTime() - start) / 1_000_000.0 / SEARCHES;
+
+        log.info(String.format("Recherche dans %d événements : %.3f ms en moyenne (%d résultats)",
+                CATALOGUE, averageMillis, found));
+        assertTrue(found > 0);
+
+        // Genre dans le titre (i) ou dans la description (i + 1), sans accent dans la saisie
+        for (int genre : new int[]{1, 4}) {
+            String keyword = genre == 1 ? "theatre" : "festival";
+            Set<Long> results = new HashSet<>(searchIndex.search(keyword, null, null, null, 200.0));
+            for (int i = 0; i < CATALOGUE; i++) {
+                boolean matches = i % genres.length == genre || (i + 1) % genres.length == genre;
+                assertEquals(matches, results.contains(created.get(i)), keyword + " : événement " + i);
+            }
+        }
+    }
+
+    private Event newEvent(String titre, String description, String lieu, String ville) {
+        Event event = testData.newEvent(titre, LocalDateTime.now().plusDays(20), 500, null);
+        event.setDescription(description);
+        event.setLieu(lieu);
+        event.setVille(ville);
+        event.setCategorie(EventCategory.CONCERT);
+        return event;
+    }
+
+    private Event eventById(List<Event> events, Long id) {
+        return events.stream().filter(e -> e.getId().equals(id)).findFirst().orElseThrow();
+    }
+
+    private List<Long> ids(List<Event> events) {
+        return events.stream().map(Event::getId).toList();
+    }
+}
@@ -0,0 +1,104 @@
+package com.eventmanager.service;
+
+import com.eventmanager.entity.Event;
+import com.eventmanager.enums.EventStatus;
+import com.eventmanager.repository.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Suggestions de saisie : début de n'importe quel mot du titre, sans accents,
+ * mises à jour événement par événement et complètes sur un grand catalogue
+ * (durée par saisie affichée).
+ */
+class EventTypeaheadIndexTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EventTypeaheadIndexTest.class);
+
+    private static final int CATALOGUE = 5_000;
+    private static final int LOOKUPS = 100_000;
+
+    private final EventTypeaheadIndex index = new EventTypeaheadIndex(mock(EventRepository.class));
+
+    @Test
+    void suggestsTitlesAndCitiesAndFollowsPublication() {
+        Event fete = event(1L, "Fête de la musique", "Fès");
+        Event jazz = event(2L, "Festival de jazz", "Essaouira");
+        index.update(1L, fete);
+        index.update(2L, jazz);
+
+        assertEquals(List.of("Festival de jazz", "Fête de la musique"), index.suggestTitles("fe", 5));
+        assertEquals(List.of("Fête de la musique"), index.suggestTitles("MUSI", 5));
+        assertEquals(List.of("Fès"), index.suggestVilles("fe", 5));
+        assertEquals(List.of("Essaouira"), index.suggestVilles("ess", 5));
+
+        // Modification puis retrait (dépublication)
+        fete.setTitre("Nuit de la musique");
+        index.update(1L, fete);
+        assertEquals(List.of("Festival de jazz"), index.suggestTitles("fe", 5));
+        assertEquals(List.of("Nuit de la musique"), index.suggestTitles("nuit", 5));
+
+        jazz.setStatut(EventStatus.BROUILLON);
+        index.update(2L, jazz);
+        assertTrue(index.suggestTitles("festival", 5).isEmpty());
+        assertTrue(index.suggestVilles("ess", 5).isEmpty());
+        assertEquals(List.of("Fès"), index.suggestVilles("f", 5));
+    }
+
+    @Test
+    void largeCatalogueSuggestionsMatchTheirPrefix() {
+        String[] villes = {"Casablanca", "Rabat", "Marrakech", "Fès", "Tanger", "Agadir", "Meknès", "Oujda"};
+        String[] genres = {"Concert", "Théâtre", "Exposition", "Conférence", "Festival", "Atelier"};
+        for (long id = 1; id <= CATALOGUE; id++) {
+            index.update(id, event(id, genres[(int) (id % genres.length)] + " " + id + " à " + villes[(int) (id % villes.length)],
+                    villes[(int) (id % villes.length)]));
+        }
+
+        String[] prefixes = {"con", "thea", "expo", "fest", "atel", "marr", "12", "cas"};
+        int found = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            found += index.suggestTitles(prefixes[i % prefixes.length], 8).size();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            found += index.suggestTitles(prefixes[i % prefixes.length], 8).size();
+            found += index.suggestVilles(prefixes[i % prefixes.length], 8).size();
+        }
+        double micros = (System.nanoTime() - start) / 1_000.0 / (LOOKUPS * 2);
+
+        log.info(String.format("Suggestions sur %d événements : %.2f µs par saisie (%d résultats)", CATALOGUE, micros, found));
+
+        for (String prefix : prefixes) {
+            List<String> titles = index.suggestTitles(prefix, 8);
+            assertEquals(8, titles.size(), prefix);
+            for (String title : titles) {
+                assertTrue(Arrays.stream(SearchNormalizer.normalize(title).split("[^a-z0-9]+"))
+                        .anyMatch(word -> word.startsWith(prefix)), prefix + " : " + title);
+            }
+            Set<String> expected = Arrays.stream(villes)
+                    .filter(ville -> SearchNormalizer.normalize(ville).startsWith(prefix))
+                    .collect(Collectors.toSet());
+            assertEquals(expected, new HashSet<>(index.suggestVilles(prefix, 8)), prefix);
+        }
+    }
+
+    private Event event(Long id, String titre, String ville) {
+        LocalDateTime debut = LocalDateTime.now().plusDays(5);
+        Event event = new Event(titre, "", debut, debut.plusHours(2), "Salle", ville, 100, 50.0, null);
+        event.setId(id);
+        event.setStatut(EventStatus.PUBLIE);
+        return event;
+    }
+}
@@ -0,0 +1,163 @@
+package com.eventmanager.service;
+
+import com.eventmanager.dto.CursorPage;
+import com.eventmanager.entity.Event;
+import com.eventmanager.entity.Reservation;
+import com.eventmanager.entity.User;
+import com.eventmanager.enums.UserRole;
+import com.eventmanager.repository.ReservationRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pagination par clé comparée au chargement complet et à la pagination OFFSET :
+ * ordre stable sans doublon, et des pages profondes identiques à celles d'OFFSET
+ * (durées affichées).
+ */
+@SpringBootTest
+class KeysetPaginationBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(KeysetPaginationBenchmarkTest.class);
+
+    private static final int RESERVATIONS = 50_000;
+    private static final int INSERT_BATCH = 1_000;
+    private static final int PAGE_SIZE = 100;
+    private static final int DEEP_PAGES = 20;
+    private static final int WARMUP = 50;
+
+    private static final String OFFSET_QUERY = "SELECT r FROM Reservation r WHERE r.utilisateur.id = :utilisateurId " +
+            "ORDER BY r.dateReservation DESC, r.id DESC";
+
+    @Autowired
+    private IEventService eventService;
+
+    @Autowired
+    private IReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void availableEventsArePagedInAStableOrder() {
+        User organisateur = testData.createUser(UserRole.ORGANIZER);
+        // Même date de début pour tous : l'id départage
+        LocalDateTime debut = LocalDateTime.now().plusDays(10).withNano(0);
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            created.add(testData.createEvent("Page " + i, debut, 100, organisateur).getId());
+        }
+
+        List<Event> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<Event> page = eventService.getAvailableEvents(cursor, 25);
+            assertTrue(page.getItems().size() <= 25);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        List<Long> ids = seen.stream().map(Event::getId).toList();
+        assertEquals(ids.size(), new HashSet<>(ids).size(), "Aucun événement ne doit apparaître deux fois");
+        assertTrue(ids.containsAll(created));
+        assertEquals(eventService.getAvailableEvents().size(), seen.size());
+        for (int i = 1; i < seen.size(); i++) {
+            Event previous = seen.get(i - 1);
+            Event current = seen.get(i);
+            int byDate = previous.getDateDebut().compareTo(current.getDateDebut());
+            assertTrue(byDate < 0 || (byDate == 0 && previous.getId() < current.getId()), "Ordre (date, id) non respecté");
+        }
+    }
+
+    @Test
+    void deepKeysetPagesMatchOffsetPages() {
+        User client = testData.createUser(UserRole.CLIENT);
+        Event event = testData.createEvent("Festival paginé", LocalDateTime.now().plusDays(30), RESERVATIONS);
+        for (int from = 0; from < RESERVATIONS; from += INSERT_BATCH) {
+            List<Reservation> batch = new ArrayList<>(INSERT_BATCH);
+            for (int i = 0; i < INSERT_BATCH; i++) {
+                batch.add(new Reservation(client, event, 1));
+            }
+            reservationRepository.saveAll(batch);
+        }
+        Long clientId = client.getId();
+        int totalPages = RESERVATIONS / PAGE_SIZE;
+
+        for (int i = 0; i < WARMUP; i++) {
+            reservationService.getReservationsByUser(clientId, null, PAGE_SIZE);
+            offsetPage(clientId, i);
+        }
+
+        // Chargement complet (comportement actuel)
+        long start = System.nanoTime();
+        int loaded = reservationService.getReservationsByUser(clientId).size();
+        double fullMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+        // Parcours complet par clé
+        Set<Long> seen = new HashSet<>();
+        List<List<Long>> deepKeysetPages = new ArrayList<>(DEEP_PAGES);
+        long deepKeysetNanos = 0;
+        int pages = 0;
+        String cursor = null;
+        start = System.nanoTime();
+        do {
+            long pageStart = System.nanoTime();
+            CursorPage<Reservation> page = reservationService.getReservationsByUser(clientId, cursor, PAGE_SIZE);
+            if (pages >= totalPages - DEEP_PAGES) {
+                deepKeysetNanos += System.nanoTime() - pageStart;
+                deepKeysetPages.add(page.getItems().stream().map(Reservation::getId).toList());
+            }
+            page.getItems().forEach(r -> seen.add(r.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+        double keysetWalkMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+        // Les mêmes pages profondes en OFFSET
+        List<List<Long>> deepOffsetPages = new ArrayList<>(DEEP_PAGES);
+        long deepOffsetNanos = 0;
+        for (int page = totalPages - DEEP_PAGES; page < totalPages; page++) {
+            long pageStart = System.nanoTime();
+            List<Reservation> items = offsetPage(clientId, page);
+            deepOffsetNanos += System.nanoTime() - pageStart;
+            deepOffsetPages.add(items.stream().map(Reservation::getId).toList());
+        }
+
+        double deepKeysetMillis = deepKeysetNanos / 1_000_000.0 / DEEP_PAGES;
+        double deepOffsetMillis = deepOffsetNanos / 1_000_000.0 / DEEP_PAGES;
+        log.info(String.format("%d réservations : chargement complet %.1f ms, parcours par clé %.1f ms (%d pages)",
+                RESERVATIONS, fullMillis, keysetWalkMillis, pages));
+        log.info(String.format("Dernières pages : %.3f ms par clé, %.3f ms en OFFSET", deepKeysetMillis, deepOffsetMillis));
+
+        assertEquals(RESERVATIONS, loaded);
+        assertEquals(RESERVATIONS, seen.size(), "Chaque réservation doit être vue exactement une fois");
+        assertEquals(totalPages, pages);
+        assertEquals(deepOffsetPages, deepKeysetPages, "Les pages profondes par clé devraient être celles d'OFFSET");
+    }
+
+    private List<Reservation> offsetPage(Long utilisateurId, int page) {
+        return entityManager.createQuery(OFFSET_QUERY, Reservation.class)
+                .setParameter("utilisateurId", utilisateurId)
+                .setFirstResult(page * PAGE_SIZE)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList();
+    }
+}
@@ -0,0 +1,171 @@
+package com.eventmanager.service;
+
+import com.eventmanager.config.CacheConfig;
+import com.eventmanager.entity.Event;
+import com.eventmanager.entity.Reservation;
+import com.eventmanager.entity.User;
+import com.eventmanager.enums.EventStatus;
+import com.eventmanager.enums.ReservationStatus;
+import com.eventmanager.enums.UserRole;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cache des lectures : invalidation par les méthodes de modification, et requêtes SQL
+ * des lectures répétées comparées aux mêmes méthodes appelées sans le cache (durées affichées).
+ */
+@SpringBootTest
+class ReadCacheBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadCacheBenchmarkTest.class);
+
+    private static final int EVENTS = 20;
+    private static final int WARMUP = 200;
+    private static final int ROUNDS = 2_000;
+    private static final String EVENT_REGION = "entity-events";
+
+    @Autowired
+    private IEventService eventService;
+
+    @Autowired
+    private IUserService userService;
+
+    @Autowired
+    private IReservationService reservationService;
+
+    @Autowired
+    private CacheStatistics cacheStatistics;
+
+    @Autowired
+    private HibernateCacheStatistics hibernateStatistics;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void mutationsInvalidateTheCachedReads() {
+        User organisateur = testData.createUser(UserRole.ORGANIZER);
+        User client = testData.createUser(UserRole.CLIENT);
+        Event event = createEvents(organisateur, 1).get(0);
+        Long eventId = event.getId();
+
+        assertEquals(event.getTitre(), eventService.getEventById(eventId).getTitre());
+        Event details = new Event();
+        details.setTitre("Titre modifié");
+        eventService.updateEvent(eventId, details);
+        assertEquals("Titre modifié", eventService.getEventById(eventId).getTitre());
+        eventService.changeEventStatus(eventId, EventStatus.TERMINE);
+        assertEquals(EventStatus.TERMINE, eventService.getEventById(eventId).getStatut());
+        eventService.changeEventStatus(eventId, EventStatus.PUBLIE);
+
+        assertEquals("Test", userService.getUserById(client.getId()).getNom());
+        userService.updateProfile(client.getId(), "Profil", null, null);
+        assertEquals("Profil", userService.getUserById(client.getId()).getNom());
+        userService.toggleAccountStatus(client.getId(), false);
+        assertFalse(userService.getUserById(client.getId()).getActif());
+        userService.toggleAccountStatus(client.getId(), true);
+
+        long clients = userService.countUsersByRole().getOrDefault(UserRole.CLIENT, 0L);
+        userService.registerUser("Nouveau", "Client", "cache-" + System.nanoTime() + "@event.ma",
+                "motdepasse123", "0600000000", UserRole.CLIENT);
+        assertEquals(clients + 1, userService.countUsersByRole().get(UserRole.CLIENT).longValue());
+
+        assertTrue(reservationService.getReservationsByUser(client.getId()).isEmpty());
+        Reservation reservation = reservationService.createReservation(client.getId(), eventId, 2);
+        assertEquals(1, reservationService.getReservationsByUser(client.getId()).size());
+        assertEquals(1, reservationService.getReservationsByEvent(eventId).size());
+        assertEquals(ReservationStatus.EN_ATTENTE, reservationService.getReservationById(reservation.getId()).getStatut());
+
+        reservationService.cancelReservation(reservation.getId());
+        assertEquals(ReservationStatus.ANNULEE, reservationService.getReservationById(reservation.getId()).getStatut());
+        assertEquals(ReservationStatus.ANNULEE, reservationService.getReservationsByUser(client.getId()).get(0).getStatut());
+        assertEquals(ReservationStatus.ANNULEE, reservationService.getReservationsByEvent(eventId).get(0).getStatut());
+    }
+
+    @Test
+    void cachedReadsSkipTheDatabase() {
+        User organisateur = testData.createUser(UserRole.ORGANIZER);
+        User client = testData.createUser(UserRole.CLIENT);
+        List<Event> events = createEvents(organisateur, EVENTS);
+
+        // Même code sans le proxy de cache ; la transaction de la classe est conservée
+        IEventService uncachedEvents = AopTestUtils.getUltimateTargetObject(eventService);
+        IUserService uncachedUsers = AopTestUtils.getUltimateTargetObject(userService);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Map<String, Object> eventsBefore = hibernateStatistics.getStatistics().get(EVENT_REGION);
+
+        for (int i = 0; i < WARMUP; i++) {
+            readPaths(eventService, userService, events, client.getId(), i);
+            transaction.execute(status -> readPaths(uncachedEvents, uncachedUsers, events, client.getId(), 0));
+        }
+
+        long statements = hibernateStatistics.getStatementCount();
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            readPaths(eventService, userService, events, client.getId(), i);
+        }
+        double cached = (System.nanoTime() - start) / 1_000.0 / ROUNDS;
+        long cachedStatements = hibernateStatistics.getStatementCount() - statements;
+
+        statements = hibernateStatistics.getStatementCount();
+        start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            int round = i;
+            transaction.execute(status -> readPaths(uncachedEvents, uncachedUsers, events, client.getId(), round));
+        }
+        double uncached = (System.nanoTime() - start) / 1_000.0 / ROUNDS;
+        long uncachedStatements = hibernateStatistics.getStatementCount() - statements;
+
+        Map<String, Map<String, Object>> statistics = cacheStatistics.getStatistics();
+        log.info(String.format("Lectures (événement, utilisateur, à venir, comptage par rôle) : " +
+                "%d requêtes SQL et %.1f µs avec le cache, %d requêtes SQL et %.1f µs sans",
+                cachedStatements, cached, uncachedStatements, uncached));
+        statistics.forEach((name, values) -> log.info("  {} : {}", name, values));
+
+        // Les tâches planifiées peuvent ajouter quelques requêtes
+        assertTrue(cachedStatements * 10 < uncachedStatements, "Les lectures en cache ne devraient pas interroger la base");
+        // Événements : cache de second niveau, partagé par les deux chemins
+        Map<String, Object> eventsAfter = hibernateStatistics.getStatistics().get(EVENT_REGION);
+        long hits = (Long) eventsAfter.get("hits") - (Long) eventsBefore.get("hits");
+        long misses = (Long) eventsAfter.get("misses") - (Long) eventsBefore.get("misses");
+        assertTrue(hits > 9 * misses, "Les événements devraient être lus dans la région " + EVENT_REGION);
+        assertTrue(cacheStatistics.getStats(CacheConfig.USER_COUNTS).hitRate() > 0.9);
+    }
+
+    // Ce qu'une page lit typiquement, plusieurs fois par requête
+    private int readPaths(IEventService events, IUserService users, List<Event> catalogue, Long userId, int round) {
+        Long eventId = catalogue.get(round % catalogue.size()).getId();
+        int total = events.getEventById(eventId).getCapaciteMax();
+        total += users.getUserById(userId).getNom().length();
+        total += events.getUpcomingEvents().size();
+        total += users.countUsersByRole().size();
+        return total;
+    }
+
+    private List<Event> createEvents(User organisateur, int count) {
+        List<Event> events = new ArrayList<>(count);
+        LocalDateTime debut = LocalDateTime.now().plusDays(6);
+        for (int i = 0; i < count; i++) {
+            events.add(testData.createEvent("Cache " + i, debut.plusHours(i), 100, organisateur));
+        }
+        return events;
+    }
+}
@@ -0,0 +1,93 @@
+package com.eventmanager.service;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Mémoïsation par requête : lectures répétées servies une fois, invalidation après
+ * modification, portées imbriquées et comptage des appels en double.
+ */
+class RequestMemoTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestMemoTest.class);
+
+    @Test
+    void repeatedReadsInOneRequestLoadOnce() {
+        RequestMemo memo = new RequestMemo();
+        AtomicInteger loads = new AtomicInteger();
+
+        String title = memo.call(() -> {
+            memo.get(RequestMemo.EVENT, 1L, () -> "Concert " + loads.incrementAndGet());
+            memo.get(RequestMemo.EVENT, 2L, () -> "Théâtre " + loads.incrementAndGet());
+            return memo.get(RequestMemo.EVENT, 1L, () -> "Concert " + loads.incrementAndGet());
+        });
+        assertEquals("Concert 1", title);
+        assertEquals(2, loads.get());
+
+        // Nouvelle requête : nouvelle lecture
+        memo.run(() -> memo.get(RequestMemo.EVENT, 1L, loads::incrementAndGet));
+        assertEquals(3, loads.get());
+
+        // Hors requête : pas de mémoïsation
+        memo.get(RequestMemo.EVENT, 1L, loads::incrementAndGet);
+        memo.get(RequestMemo.EVENT, 1L, loads::incrementAndGet);
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void invalidationAndNestedScopes() {
+        RequestMemo memo = new RequestMemo();
+        AtomicInteger loads = new AtomicInteger();
+
+        memo.run(() -> {
+            memo.get(RequestMemo.EVENT, 1L, loads::incrementAndGet);
+            memo.onEventChanged(new EventChangedEvent(1L));
+            memo.get(RequestMemo.EVENT, 1L, loads::incrementAndGet);
+            memo.onSeatsClaimed(new SeatsClaimedEvent(1L, 2));
+            memo.get(RequestMemo.EVENT, 1L, loads::incrementAndGet);
+
+            // Une portée imbriquée partage la mémoïsation de la requête
+            memo.run(() -> memo.get(RequestMemo.EVENT, 1L, loads::incrementAndGet));
+            memo.get(RequestMemo.EVENT, 1L, loads::incrementAndGet);
+
+            // Une valeur absente est aussi mémoïsée
+            assertNull(memo.get(RequestMemo.AUTHENTICATED_USER, "anonyme", () -> {
+                loads.incrementAndGet();
+                return null;
+            }));
+            assertNull(memo.get(RequestMemo.AUTHENTICATED_USER, "anonyme", loads::incrementAndGet));
+            memo.invalidate(RequestMemo.AUTHENTICATED_USER);
+            memo.get(RequestMemo.AUTHENTICATED_USER, "anonyme", loads::incrementAndGet);
+        });
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void duplicateCallsAreCountedPerRequest() {
+        RequestMemo memo = new RequestMemo();
+        for (int request = 0; request < 10; request++) {
+            memo.run(() -> {
+                // Rendu d'une page : en-tête, menu et vue lisent l'utilisateur connecté
+                for (int i = 0; i < 3; i++) {
+                    memo.get(RequestMemo.AUTHENTICATED_USER, "client@event.ma", () -> "client");
+                }
+                memo.get(RequestMemo.EVENT, 7L, () -> "Concert");
+            });
+        }
+
+        Map<String, Map<String, Object>> statistics = memo.getStatistics();
+        log.info("Lectures par requête : {}", statistics);
+        assertEquals(10, memo.getRequestCount());
+        assertEquals(30L, statistics.get(RequestMemo.AUTHENTICATED_USER).get("calls"));
+        assertEquals(20L, statistics.get(RequestMemo.AUTHENTICATED_USER).get("duplicates"));
+        assertEquals(2.0, statistics.get(RequestMemo.AUTHENTICATED_USER).get("duplicatesPerRequest"));
+        assertEquals(0L, statistics.get(RequestMemo.EVENT).get("duplicates"));
+    }
+}
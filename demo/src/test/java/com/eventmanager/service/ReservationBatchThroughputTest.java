@@ -0,0 +1,144 @@
+package com.eventmanager.service;
+
+import com.eventmanager.entity.Event;
+import com.eventmanager.entity.Reservation;
+import com.eventmanager.entity.User;
+import com.eventmanager.enums.UserRole;
+import com.eventmanager.exception.BusinessException;
+import com.eventmanager.repository.EventRepository;
+import com.eventmanager.repository.ReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Réservation de plusieurs événements en une transaction : tout ou rien, et moins
+ * de requêtes SQL que cinq appels successifs à createReservation (débits affichés).
+ */
+@SpringBootTest
+class ReservationBatchThroughputTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationBatchThroughputTest.class);
+
+    private static final int EVENTS = 5;
+    private static final int WARMUP = 20;
+    private static final int ORDERS = 200;
+
+    @Autowired
+    private IReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private SeatInventory seatInventory;
+
+    @Autowired
+    private HibernateCacheStatistics cacheStatistics;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void batchIsAllOrNothing() {
+        Long clientId = testData.createUser(UserRole.CLIENT).getId();
+        List<Event> events = createEvents(10);
+
+        // Dernier événement (ordre des ids) trop petit : rien ne doit être réservé
+        Map<Long, Integer> commande = new LinkedHashMap<>();
+        for (Event event : events) {
+            commande.put(event.getId(), 2);
+        }
+        commande.put(events.get(EVENTS - 1).getId(), 11);
+
+        assertThrows(BusinessException.class, () -> reservationService.createReservations(clientId, commande));
+        for (Event event : events) {
+            assertEquals(0, reservationRepository.countReservedPlacesByEventId(event.getId()).intValue());
+            assertEquals(0, eventRepository.findById(event.getId()).orElseThrow().getReservedSeats());
+            assertEquals(0, seatInventory.getReservedSeats(event.getId()));
+        }
+
+        commande.put(events.get(EVENTS - 1).getId(), 2);
+        List<Reservation> reservations = reservationService.createReservations(clientId, commande);
+        assertEquals(EVENTS, reservations.size());
+        for (Event event : events) {
+            assertEquals(2, seatInventory.getReservedSeats(event.getId()));
+        }
+    }
+
+    @Test
+    void batchBeatsSequentialBookings() {
+        Long clientId = testData.createUser(UserRole.CLIENT).getId();
+        int capacite = (WARMUP + ORDERS) * 2;
+        List<Event> sequentialEvents = createEvents(capacite);
+        List<Event> batchEvents = createEvents(capacite);
+
+        for (int i = 0; i < WARMUP; i++) {
+            bookSequentially(clientId, sequentialEvents);
+            reservationService.createReservations(clientId, order(batchEvents));
+        }
+
+        long statements = cacheStatistics.getStatementCount();
+        long start = System.nanoTime();
+        for (int i = 0; i < ORDERS; i++) {
+            bookSequentially(clientId, sequentialEvents);
+        }
+        long sequential = System.nanoTime() - start;
+        double sequentialStatements = (cacheStatistics.getStatementCount() - statements) / (double) ORDERS;
+
+        statements = cacheStatistics.getStatementCount();
+        start = System.nanoTime();
+        for (int i = 0; i < ORDERS; i++) {
+            reservationService.createReservations(clientId, order(batchEvents));
+        }
+        long batch = System.nanoTime() - start;
+        double batchStatements = (cacheStatistics.getStatementCount() - statements) / (double) ORDERS;
+
+        log.info(String.format("Commandes de %d événements : %.1f requêtes SQL et %.1f commandes/s en lot, " +
+                "%.1f requêtes SQL et %.1f commandes/s en appels successifs",
+                EVENTS, batchStatements, ORDERS / (batch / 1_000_000_000.0),
+                sequentialStatements, ORDERS / (sequential / 1_000_000_000.0)));
+        // Une seule lecture des événements et un lot d'insertions par commande
+        assertTrue(batchStatements < sequentialStatements,
+                "La réservation en lot devrait regrouper les lectures et les insertions");
+    }
+
+    private void bookSequentially(Long clientId, List<Event> events) {
+        for (Event event : events) {
+            reservationService.createReservation(clientId, event.getId(), 1);
+        }
+    }
+
+    private Map<Long, Integer> order(List<Event> events) {
+        Map<Long, Integer> commande = new LinkedHashMap<>();
+        for (Event event : events) {
+            commande.put(event.getId(), 1);
+        }
+        return commande;
+    }
+
+    private List<Event> createEvents(int capacite) {
+        User organisateur = testData.createUser(UserRole.ORGANIZER);
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < EVENTS; i++) {
+            events.add(testData.createEvent("Festival - soirée " + (i + 1), LocalDateTime.now().plusDays(10 + i),
+                    capacite, organisateur));
+        }
+        return events;
+    }
+}
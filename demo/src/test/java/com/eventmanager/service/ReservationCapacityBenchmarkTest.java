@@ -0,0 +1,99 @@
+package com.eventmanager.service;
+
+import com.eventmanager.entity.Event;
+import com.eventmanager.entity.Reservation;
+import com.eventmanager.entity.User;
+import com.eventmanager.enums.UserRole;
+import com.eventmanager.repository.ReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Le coût d'une réservation ne doit plus dépendre du nombre de réservations
+ * déjà enregistrées pour l'événement : mêmes requêtes SQL par réservation, durées
+ * affichées à titre indicatif.
+ */
+@SpringBootTest
+// Compteurs de places rechargés par repair() : contexte recréé pour les classes suivantes
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class ReservationCapacityBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationCapacityBenchmarkTest.class);
+
+    private static final int WARMUP = 20;
+    private static final int MEASURED = 100;
+
+    @Autowired
+    private IReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private SeatInventory seatInventory;
+
+    @Autowired
+    private HibernateCacheStatistics cacheStatistics;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void bookingCostDoesNotGrowWithExistingReservations() {
+        User client = testData.createUser(UserRole.CLIENT);
+
+        Measure small = measureBookings(client, 100);
+        Measure large = measureBookings(client, 5_000);
+
+        log.info(String.format("Par réservation : %.1f requêtes SQL et %.1f µs (100 existantes), " +
+                "%.1f requêtes SQL et %.1f µs (5000 existantes)",
+                small.statements, small.micros, large.statements, large.micros));
+        // Les tâches planifiées peuvent ajouter quelques requêtes
+        assertEquals(small.statements, large.statements, 0.2,
+                "Les requêtes par réservation dépendent du nombre de réservations");
+    }
+
+    private Measure measureBookings(User client, int existingReservations) {
+        Event event = testData.createEvent("Festival de mesure", LocalDateTime.now().plusDays(10),
+                existingReservations + WARMUP + MEASURED);
+
+        List<Reservation> existing = new ArrayList<>(existingReservations);
+        for (int i = 0; i < existingReservations; i++) {
+            existing.add(new Reservation(client, event, 1));
+        }
+        reservationRepository.saveAll(existing);
+        seatInventory.repair();
+
+        for (int i = 0; i < WARMUP; i++) {
+            reservationService.createReservation(client.getId(), event.getId(), 1);
+        }
+        long statements = cacheStatistics.getStatementCount();
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED; i++) {
+            reservationService.createReservation(client.getId(), event.getId(), 1);
+        }
+        double micros = (System.nanoTime() - start) / 1_000.0 / MEASURED;
+        return new Measure((cacheStatistics.getStatementCount() - statements) / (double) MEASURED, micros);
+    }
+
+    // Moyennes par réservation : requêtes SQL et durée en µs
+    private static final class Measure {
+        private final double statements;
+        private final double micros;
+
+        private Measure(double statements, double micros) {
+            this.statements = statements;
+            this.micros = micros;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.eventmanager.service;
+
+import com.eventmanager.service.impl.CheckedBase32CodeGenerator;
+import com.eventmanager.service.impl.UuidReservationCodeGenerator;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Codes dérivés de l'identifiant : sans collision, décodables et contrôlables
+ * hors ligne, et moins d'octets alloués par code que l'ancien tirage UUID (durées affichées).
+ */
+class ReservationCodeGeneratorBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationCodeGeneratorBenchmarkTest.class);
+
+    private static final int CODES = 200_000;
+    private static final int ROUNDS = 5;
+
+    private final ReservationCodeGenerator base32 = new CheckedBase32CodeGenerator();
+    private final ReservationCodeGenerator uuid = new UuidReservationCodeGenerator();
+
+    @Test
+    void codesAreUniqueAndDecodeToTheirId() {
+        Set<String> codes = new HashSet<>();
+        for (long id = 1; id <= CODES; id++) {
+            String code = base32.generate(id);
+            assertTrue(codes.add(code), "Collision pour l'identifiant " + id);
+            assertEquals(id, base32.decode(code).getAsLong());
+            assertEquals(id, base32.decode(code.toLowerCase()).getAsLong());
+        }
+    }
+
+    @Test
+    void singleCharacterTyposAreRejected() {
+        char[] alphabet = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+        for (long id = 1; id <= 2_000; id += 7) {
+            char[] code = base32.generate(id).toCharArray();
+            for (int position = 4; position < code.length - 1; position++) {
+                char original = code[position];
+                for (char replacement : alphabet) {
+                    if (replacement == original) {
+                        continue;
+                    }
+                    code[position] = replacement;
+                    assertFalse(base32.isValid(new String(code)), "Faute de frappe non détectée : " + new String(code));
+                }
+                code[position] = original;
+            }
+        }
+        assertFalse(base32.isValid("EVT-A1B2C3"));
+        assertFalse(base32.isValid(null));
+    }
+
+    @Test
+    void generationAllocatesLessThanUuid() {
+        double base32Nanos = Double.MAX_VALUE;
+        double uuidNanos = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            base32Nanos = Math.min(base32Nanos, nanosPerCode(base32));
+            uuidNanos = Math.min(uuidNanos, nanosPerCode(uuid));
+        }
+        long base32Bytes = allocatedPerCode(base32);
+        long uuidBytes = allocatedPerCode(uuid);
+
+        long start = System.nanoTime();
+        long checksum = 0;
+        for (long id = 1; id <= CODES; id++) {
+            checksum += base32.decode(base32.generate(id)).getAsLong();
+        }
+        double roundTripNanos = (System.nanoTime() - start) / (double) CODES;
+
+        log.info(String.format("Génération : %.1f ns et %d octets/code (base32), %.1f ns et %d octets/code (UUID) ; " +
+                "aller-retour base32 : %.1f ns (%d)", base32Nanos, base32Bytes, uuidNanos, uuidBytes, roundTripNanos, checksum));
+        assertTrue(base32Bytes < uuidBytes, "Le code base32 devrait allouer moins que le tirage UUID");
+    }
+
+    private long allocatedPerCode(ReservationCodeGenerator generator) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        int length = 0;
+        long start = threads.getThreadAllocatedBytes(thread);
+        for (long id = 1; id <= CODES; id++) {
+            length += generator.generate(id).length();
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - start;
+        assertTrue(length > 0);
+        return allocated / CODES;
+    }
+
+    private double nanosPerCode(ReservationCodeGenerator generator) {
+        long start = System.nanoTime();
+        int length = 0;
+        for (long id = 1; id <= CODES; id++) {
+            length += generator.generate(id).length();
+        }
+        long elapsed = System.nanoTime() - start;
+        assertTrue(length > 0);
+        return elapsed / (double) CODES;
+    }
+}
@@ -0,0 +1,194 @@
+package com.eventmanager.service;
+
+import com.eventmanager.entity.Reservation;
+import com.eventmanager.enums.UserRole;
+import com.eventmanager.exception.BusinessException;
+import com.eventmanager.repository.EventRepository;
+import com.eventmanager.repository.ReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Réservations concurrentes sur un événement de petite capacité : la capacité
+ * ne doit jamais être dépassée et les compteurs doivent rester cohérents.
+ */
+@SpringBootTest
+class ReservationConcurrencyTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationConcurrencyTest.class);
+
+    private static final int CAPACITE = 25;
+    private static final int THREADS = 16;
+    private static final int OPERATIONS = 600;
+
+    @Autowired
+    private IReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private SeatInventory seatInventory;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void concurrentSingleSeatBookingsFillExactlyTheCapacity() throws Exception {
+        Long clientId = testData.createUser(UserRole.CLIENT).getId();
+        Long eventId = testData.createEvent("Concert de charge", LocalDateTime.now().plusDays(10), CAPACITE).getId();
+
+        AtomicInteger succeeded = new AtomicInteger();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < CAPACITE * 8; i++) {
+            tasks.add(() -> {
+                try {
+                    reservationService.createReservation(clientId, eventId, 1);
+                    succeeded.incrementAndGet();
+                } catch (RuntimeException e) {
+                    // Complet : rejet attendu
+                }
+                return null;
+            });
+        }
+        runConcurrently(tasks);
+
+        assertEquals(CAPACITE, succeeded.get());
+        assertCountersConsistent(eventId);
+    }
+
+    @Test
+    void mixedBookingsCancellationsAndEditsNeverOversell() throws Exception {
+        Long clientId = testData.createUser(UserRole.CLIENT).getId();
+        Long eventId = testData.createEvent("Concert de charge", LocalDateTime.now().plusDays(10), CAPACITE).getId();
+
+        List<Long> reservationIds = new CopyOnWriteArrayList<>();
+        long[] latencies = new long[OPERATIONS];
+        AtomicInteger bookings = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicBoolean overbooked = new AtomicBoolean(false);
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < OPERATIONS; i++) {
+            final int op = i;
+            tasks.add(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long start = System.nanoTime();
+                try {
+                    int choice = random.nextInt(10);
+                    if (choice < 6 || reservationIds.isEmpty()) {
+                        Reservation reservation = reservationService.createReservation(clientId, eventId, 1 + random.nextInt(3));
+                        reservationIds.add(reservation.getId());
+                        bookings.incrementAndGet();
+                    } else if (choice < 8) {
+                        reservationService.cancelReservation(pick(reservationIds, random));
+                    } else {
+                        reservationService.updateReservation(pick(reservationIds, random), 1 + random.nextInt(3));
+                    }
+                } catch (RuntimeException e) {
+                    // Complet, déjà annulée ou conflit de version : rejet attendu
+                    rejected.incrementAndGet();
+                } finally {
+                    latencies[op] = System.nanoTime() - start;
+                }
+
+                if (reservationRepository.countReservedPlacesByEventId(eventId) > CAPACITE
+                        || eventRepository.findById(eventId).orElseThrow().getReservedSeats() > CAPACITE) {
+                    overbooked.set(true);
+                }
+                return null;
+            });
+        }
+        long elapsed = runConcurrently(tasks);
+
+        assertFalse(overbooked.get(), "La capacité a été dépassée pendant le test");
+        assertCountersConsistent(eventId);
+
+        Arrays.sort(latencies);
+        double seconds = elapsed / 1_000_000_000.0;
+        log.info(String.format("Réservations: %d réussies, %d rejetées en %.2f s (%.1f réservations/s), p99 = %.2f ms",
+                bookings.get(), rejected.get(), seconds, bookings.get() / seconds,
+                latencies[(int) Math.ceil(OPERATIONS * 0.99) - 1] / 1_000_000.0));
+    }
+
+    @Test
+    void nonPositiveSeatCountsAreRejectedBeforeAnySeatIsClaimed() {
+        Long clientId = testData.createUser(UserRole.CLIENT).getId();
+        Long eventId = testData.createEvent("Concert gratuit", LocalDateTime.now().plusDays(10), CAPACITE).getId();
+        Long autreId = testData.createEvent("Atelier gratuit", LocalDateTime.now().plusDays(12), CAPACITE).getId();
+
+        assertThrows(BusinessException.class, () -> reservationService.createReservation(clientId, eventId, 0));
+        assertThrows(BusinessException.class, () -> reservationService.createReservation(clientId, eventId, -3));
+        assertThrows(BusinessException.class,
+                () -> reservationService.createReservations(clientId, Map.of(eventId, 2, autreId, -1)));
+
+        assertEquals(0, seatInventory.getReservedSeats(eventId));
+        assertEquals(0, seatInventory.getReservedSeats(autreId));
+        assertCountersConsistent(eventId);
+
+        Long reservationId = reservationService.createReservation(clientId, eventId, 2).getId();
+        assertThrows(BusinessException.class, () -> reservationService.updateReservation(reservationId, 0));
+        assertThrows(BusinessException.class, () -> reservationService.updateReservation(reservationId, -2));
+        assertEquals(2, seatInventory.getReservedSeats(eventId));
+        assertCountersConsistent(eventId);
+    }
+
+    private void assertCountersConsistent(Long eventId) {
+        int reserved = reservationRepository.countReservedPlacesByEventId(eventId).intValue();
+        assertTrue(reserved <= CAPACITE);
+        assertEquals(reserved, eventRepository.findById(eventId).orElseThrow().getReservedSeats());
+        assertEquals(reserved, seatInventory.getReservedSeats(eventId));
+    }
+
+    private long runConcurrently(List<Callable<Void>> tasks) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> task : tasks) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+            return System.nanoTime() - begin;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Long pick(List<Long> ids, ThreadLocalRandom random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+}
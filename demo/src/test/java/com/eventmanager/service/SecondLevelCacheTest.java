@@ -0,0 +1,116 @@
+package com.eventmanager.service;
+
+import com.eventmanager.entity.Event;
+import com.eventmanager.entity.User;
+import com.eventmanager.enums.UserRole;
+import com.eventmanager.repository.EventRepository;
+import com.eventmanager.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cache de second niveau d'Hibernate : requêtes SQL par page vue avec les régions
+ * vides puis remplies, et invalidation précise après une réservation de places.
+ */
+@SpringBootTest
+// Régions du cache de second niveau vidées : contexte recréé pour les classes suivantes
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class SecondLevelCacheTest {
+
+    private static final Logger log = LoggerFactory.getLogger(SecondLevelCacheTest.class);
+
+    private static final int VIEWS = 200;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SeatInventory seatInventory;
+
+    @Autowired
+    private HibernateCacheStatistics cacheStatistics;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void warmRegionsCutStatementsPerPageView() {
+        User visiteur = testData.createUser(UserRole.CLIENT);
+        Event event = testData.createEvent("Cache Hibernate", LocalDateTime.now().plusDays(4), 100);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        long start = cacheStatistics.getStatementCount();
+        for (int i = 0; i < VIEWS; i++) {
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+            transaction.execute(status -> pageView(visiteur.getEmail(), event.getId()));
+        }
+        double cold = (double) (cacheStatistics.getStatementCount() - start) / VIEWS;
+
+        transaction.execute(status -> pageView(visiteur.getEmail(), event.getId()));
+        start = cacheStatistics.getStatementCount();
+        for (int i = 0; i < VIEWS; i++) {
+            transaction.execute(status -> pageView(visiteur.getEmail(), event.getId()));
+        }
+        double warm = (double) (cacheStatistics.getStatementCount() - start) / VIEWS;
+
+        log.info(String.format("Requêtes SQL par page vue : %.2f régions vides, %.2f régions remplies", cold, warm));
+        cacheStatistics.getStatistics().forEach((region, values) -> log.info("  {} : {}", region, values));
+
+        assertTrue(cold >= 4, "Sans cache, chaque lecture de la page devrait interroger la base");
+        assertTrue(warm < 1, "Avec le cache, la page ne devrait presque plus interroger la base");
+    }
+
+    @Test
+    void seatUpdatesEvictOnlyTheirEvent() {
+        User organisateur = testData.createUser(UserRole.ORGANIZER);
+        Event event = testData.createEvent("Cache Hibernate", LocalDateTime.now().plusDays(4), 100, organisateur);
+        Event autre = testData.createEvent("Cache Hibernate", LocalDateTime.now().plusDays(4), 100, organisateur);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.execute(status -> pageView(organisateur.getEmail(), event.getId())
+                + pageView(organisateur.getEmail(), autre.getId()));
+
+        jakarta.persistence.Cache cache = entityManagerFactory.getCache();
+        assertTrue(cache.contains(Event.class, event.getId()));
+        transaction.execute(status -> seatInventory.claim(event.getId(), 3));
+
+        // L'UPDATE natif n'a vidé ni la région des utilisateurs ni les autres événements
+        assertFalse(cache.contains(Event.class, event.getId()));
+        assertTrue(cache.contains(Event.class, autre.getId()));
+        assertTrue(cache.contains(User.class, organisateur.getId()));
+        assertEquals(3, eventRepository.findById(event.getId()).orElseThrow().getReservedSeats());
+    }
+
+    // Ce qu'une page lit : utilisateur connecté, événement et organisateur, à venir, comptage par catégorie
+    private int pageView(String email, Long eventId) {
+        int total = userRepository.findByEmail(email).orElseThrow().getNom().length();
+        total += eventRepository.findById(eventId).orElseThrow().getOrganisateur().getNom().length();
+        total += eventRepository.findUpcomingEvents(
+                LocalDateTime.now().plusMonths(1).truncatedTo(ChronoUnit.MINUTES)).size();
+        total += eventRepository.countByCategorie().size();
+        return total;
+    }
+}
@@ -0,0 +1,161 @@
+package com.eventmanager.service;
+
+import com.eventmanager.dto.EventDTO;
+import com.eventmanager.exception.ResourceNotFoundException;
+import com.eventmanager.repository.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Regroupement des lectures concurrentes : une seule exécution pour les appelants
+ * simultanés d'une même clé, et requêtes SQL d'une ruée sur la page d'un événement
+ * avec et sans regroupement.
+ */
+@SpringBootTest
+class SingleFlightLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(SingleFlightLoadTest.class);
+
+    private static final int THREADS = 64;
+    private static final int ROUNDS = 30;
+    private static final String TITLE = "Grande ruée";
+
+    @Autowired
+    private IEventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private SingleFlight singleFlight;
+
+    @Autowired
+    private HibernateCacheStatistics cacheStatistics;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void concurrentCallersShareOneExecution() throws Exception {
+        SingleFlight flight = new SingleFlight();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<String> leader = executor.submit(() -> flight.execute(SingleFlight.EVENT_CARD, 1L, () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return "Concert";
+            }));
+            loading.await();
+            List<Future<String>> followers = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                followers.add(executor.submit(() -> flight.execute(SingleFlight.EVENT_CARD, 1L,
+                        () -> "Concert " + loads.incrementAndGet())));
+            }
+            // Autre clé : pas de regroupement
+            assertEquals("Théâtre", flight.execute(SingleFlight.EVENT_CARD, 2L, () -> "Théâtre"));
+            while (flight.getCalls(SingleFlight.EVENT_CARD) < 9) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertEquals("Concert", leader.get(5, TimeUnit.SECONDS));
+            for (Future<String> follower : followers) {
+                assertEquals("Concert", follower.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+            assertEquals(2, flight.getExecutions(SingleFlight.EVENT_CARD));
+            assertEquals(7L, flight.getStatistics().get(SingleFlight.EVENT_CARD).get("coalesced"));
+
+            // Lecture terminée : l'appel suivant relit
+            assertEquals("Concert 2", flight.execute(SingleFlight.EVENT_CARD, 1L, () -> "Concert " + loads.incrementAndGet()));
+            // Une exception est propagée et n'est pas conservée
+            assertThrows(ResourceNotFoundException.class, () -> flight.execute(SingleFlight.EVENT_CARD, 3L, () -> {
+                throw new ResourceNotFoundException("Événement non trouvé");
+            }));
+            assertEquals("Cirque", flight.execute(SingleFlight.EVENT_CARD, 3L, () -> "Cirque"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void thunderingHerdQueriesTheDatabaseLess() throws Exception {
+        Long eventId = testData.createEvent(TITLE, LocalDateTime.now().plusDays(3), 50_000).getId();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            // Préchauffage des deux chemins
+            herd(executor, () -> eventService.getEventCard(eventId));
+            herd(executor, () -> eventRepository.findCardById(eventId).orElseThrow());
+
+            long start = cacheStatistics.getStatementCount();
+            for (int round = 0; round < ROUNDS; round++) {
+                herd(executor, () -> eventRepository.findCardById(eventId).orElseThrow());
+            }
+            long direct = cacheStatistics.getStatementCount() - start;
+
+            long executions = singleFlight.getExecutions(SingleFlight.EVENT_CARD);
+            start = cacheStatistics.getStatementCount();
+            for (int round = 0; round < ROUNDS; round++) {
+                herd(executor, () -> eventService.getEventCard(eventId));
+            }
+            long coalesced = cacheStatistics.getStatementCount() - start;
+            executions = singleFlight.getExecutions(SingleFlight.EVENT_CARD) - executions;
+
+            log.info("{} rafales de {} lectures simultanées : {} requêtes SQL sans regroupement, " +
+                    "{} avec ({} exécutions)", ROUNDS, THREADS, direct, coalesced, executions);
+            log.info("  {}", singleFlight.getStatistics());
+
+            // Les tâches planifiées peuvent ajouter quelques requêtes
+            assertTrue(direct >= (long) ROUNDS * THREADS);
+            assertTrue(coalesced * 2 < direct, "Les lectures simultanées devraient partager leurs requêtes");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // THREADS lectures lâchées en même temps
+    private void herd(ExecutorService executor, Supplier<EventDTO> read) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<EventDTO>> readers = new ArrayList<>(THREADS);
+        for (int i = 0; i < THREADS; i++) {
+            readers.add(executor.submit(() -> {
+                start.await();
+                return read.get();
+            }));
+        }
+        start.countDown();
+        for (Future<EventDTO> reader : readers) {
+            assertEquals(TITLE, reader.get(10, TimeUnit.SECONDS).getTitre());
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
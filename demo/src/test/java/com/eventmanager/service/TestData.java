@@ -0,0 +1,53 @@
+package com.eventmanager.service;
+
+import com.eventmanager.entity.Event;
+import com.eventmanager.entity.User;
+import com.eventmanager.enums.EventStatus;
+import com.eventmanager.enums.UserRole;
+import com.eventmanager.repository.EventRepository;
+import com.eventmanager.repository.UserRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Données des tests @SpringBootTest : utilisateurs à email unique et événements
+ * publiés, enregistrés dans la base partagée par tous les tests.
+ */
+@Component
+public class TestData {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private final UserRepository userRepository;
+    private final EventRepository eventRepository;
+
+    public TestData(UserRepository userRepository, EventRepository eventRepository) {
+        this.userRepository = userRepository;
+        this.eventRepository = eventRepository;
+    }
+
+    public User createUser(UserRole role) {
+        String email = "test-" + SEQUENCE.incrementAndGet() + "-" + System.nanoTime() + "@event.ma";
+        User user = new User("Test", role.name(), email, "motdepasse123");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    // Événement publié de deux heures, non enregistré
+    public Event newEvent(String titre, LocalDateTime debut, int capacite, User organisateur) {
+        Event event = new Event(titre, "", debut, debut.plusHours(2), "Salle", "Rabat", capacite, 50.0, organisateur);
+        event.setStatut(EventStatus.PUBLIE);
+        return event;
+    }
+
+    public Event createEvent(String titre, LocalDateTime debut, int capacite, User organisateur) {
+        return eventRepository.save(newEvent(titre, debut, capacite, organisateur));
+    }
+
+    // Organisé par un nouvel utilisateur
+    public Event createEvent(String titre, LocalDateTime debut, int capacite) {
+        return createEvent(titre, debut, capacite, createUser(UserRole.ORGANIZER));
+    }
+}
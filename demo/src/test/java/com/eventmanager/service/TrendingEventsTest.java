@@ -0,0 +1,106 @@
+package com.eventmanager.service;
+
+import com.eventmanager.entity.Event;
+import com.eventmanager.enums.EventStatus;
+import com.eventmanager.repository.EventRepository;
+import com.eventmanager.repository.ReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Classement des événements en vogue : les réservations récentes pèsent plus,
+ * les événements sans réservation restent classés, et le classement d'un grand
+ * volume de réservations est celui d'un calcul direct (durées affichées).
+ */
+class TrendingEventsTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendingEventsTest.class);
+
+    private static final int CATALOGUE = 100_000;
+    private static final int BOOKINGS = 1_000_000;
+    private static final int READS = 1_000_000;
+
+    @Test
+    void recentBookingsOutweighOlderOnes() {
+        TrendingEvents trending = trending(3);
+        LocalDateTime now = LocalDateTime.now();
+        for (long id = 1; id <= 5; id++) {
+            trending.update(id, event(id, now.plusDays(id)));
+        }
+        // Demi-vie de 24 h : 10 places il y a 3 jours valent 1,25 place aujourd'hui
+        trending.record(1L, 10, now.minusDays(3));
+        trending.record(2L, 3, now);
+        trending.record(3L, 2, now.minusHours(1));
+        trending.refresh();
+        assertEquals(List.of(2L, 3L, 1L), trending.top(6));
+        assertEquals(List.of(2L), trending.top(1));
+
+        // Un événement annulé sort tout de suite ; sans réservation, le plus proche complète le classement
+        Event annule = event(2L, now.plusDays(2));
+        annule.setStatut(EventStatus.ANNULE);
+        trending.update(2L, annule);
+        assertEquals(List.of(3L, 1L, 4L), trending.top(6));
+    }
+
+    @Test
+    void largeVolumeRankingMatchesADirectComputation() {
+        TrendingEvents trending = trending(24);
+        LocalDateTime now = LocalDateTime.now();
+        for (long id = 1; id <= CATALOGUE; id++) {
+            trending.update(id, event(id, now.plusDays(1 + id % 60)));
+        }
+        Random random = new Random(7);
+        // Score direct : places × 2^(-âge / 24 h)
+        double[] expected = new double[CATALOGUE + 1];
+        for (int i = 0; i < BOOKINGS; i++) {
+            int id = 1 + random.nextInt(CATALOGUE);
+            int places = 1 + random.nextInt(4);
+            int minutes = random.nextInt(20_000);
+            trending.record((long) id, places, now.minusMinutes(minutes));
+            expected[id] += places * Math.pow(2, -minutes / (24 * 60.0));
+        }
+
+        long start = System.nanoTime();
+        trending.refresh();
+        double refreshMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+        int total = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < READS; i++) {
+            total += trending.top(6).size();
+        }
+        double readNanos = (double) (System.nanoTime() - start) / READS;
+
+        log.info(String.format("%d événements, %d réservations : recalcul %.1f ms, lecture de la page d'accueil %.0f ns",
+                CATALOGUE, BOOKINGS, refreshMillis, readNanos));
+        assertEquals(6 * READS, total);
+        List<Long> direct = LongStream.rangeClosed(1, CATALOGUE).boxed()
+                .sorted(Comparator.comparingDouble((Long id) -> expected[id.intValue()]).reversed())
+                .limit(6)
+                .toList();
+        assertEquals(direct, trending.top(6));
+    }
+
+    private TrendingEvents trending(int topK) {
+        return new TrendingEvents(mock(EventRepository.class), mock(ReservationRepository.class),
+                Duration.ofHours(24), topK);
+    }
+
+    private Event event(Long id, LocalDateTime debut) {
+        Event event = new Event("Événement " + id, "", debut, debut.plusHours(2), "Salle", "Rabat", 100, 50.0, null);
+        event.setId(id);
+        event.setStatut(EventStatus.PUBLIE);
+        return event;
+    }
+}
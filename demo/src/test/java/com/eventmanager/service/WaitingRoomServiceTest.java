@@ -0,0 +1,81 @@
+package com.eventmanager.service;
+
+import com.eventmanager.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Salle d'attente : admission rendue au rollback, consommée au commit, et
+ * libération des files vides et inactives sans désactiver la salle.
+ */
+class WaitingRoomServiceTest {
+
+    private static final Long EVENT_ID = 1L;
+    private static final Long USER_ID = 7L;
+
+    @Test
+    void admissionIsRestoredOnRollbackOnly() {
+        WaitingRoomService service = new WaitingRoomService(10, 100, Duration.ofMinutes(5), Duration.ofHours(1));
+        service.enable(EVENT_ID);
+        service.join(EVENT_ID, USER_ID);
+        assertThrows(BusinessException.class, () -> service.checkAdmission(EVENT_ID, USER_ID));
+        service.admitNextBatch();
+
+        // Réservation refusée : l'admission revient à l'utilisateur
+        completeTransaction(() -> service.checkAdmission(EVENT_ID, USER_ID), TransactionSynchronization.STATUS_ROLLED_BACK);
+        // Réservation validée : l'admission est consommée
+        completeTransaction(() -> service.checkAdmission(EVENT_ID, USER_ID), TransactionSynchronization.STATUS_COMMITTED);
+        assertThrows(BusinessException.class, () -> service.checkAdmission(EVENT_ID, USER_ID));
+    }
+
+    @Test
+    void idleEmptyQueuesAreEvicted() {
+        WaitingRoomService service = new WaitingRoomService(10, 100, Duration.ofMinutes(5), Duration.ZERO);
+        service.enable(EVENT_ID);
+        service.enable(2L);
+        service.join(EVENT_ID, 8L);
+        service.join(2L, USER_ID);
+
+        // File de la salle 1 vidée puis libérée, la salle 2 garde l'admission non consommée
+        service.admitNextBatch();
+        assertDoesNotThrow(() -> service.checkAdmission(EVENT_ID, 8L));
+        service.admitNextBatch();
+        assertEquals(1, service.getRoomCount());
+        service.disable(2L);
+        assertEquals(0, service.getRoomCount());
+    }
+
+    @Test
+    void enabledRoomOutlivesTheIdleTimeout() {
+        WaitingRoomService service = new WaitingRoomService(10, 100, Duration.ofMinutes(5), Duration.ZERO);
+        service.enable(EVENT_ID);
+        service.admitNextBatch();
+        service.admitNextBatch();
+
+        // Salle activée avant l'ouverture des ventes : toujours active et toujours contrôlée
+        assertTrue(service.isEnabled(EVENT_ID));
+        assertThrows(BusinessException.class, () -> service.checkAdmission(EVENT_ID, USER_ID));
+        assertFalse(service.join(EVENT_ID, USER_ID).isAdmis());
+        service.admitNextBatch();
+        assertDoesNotThrow(() -> service.checkAdmission(EVENT_ID, USER_ID));
+    }
+
+    private static void completeTransaction(Runnable work, int status) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCompletion(status));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}